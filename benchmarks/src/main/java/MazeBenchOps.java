@@ -0,0 +1,257 @@
+/* MazeBenchOps.java
+ * Default-package side of mazebench.MazeOps: the only benchmark-module class that
+ * touches JungleMazeGame's package-private types directly.
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+public class MazeBenchOps implements mazebench.MazeOps {
+
+    static final int TILE_ROOMS = 128;
+
+    static JungleMazeGame.Maze m(Object maze) { return (JungleMazeGame.Maze) maze; }
+
+    static JungleMazeGame.SolverType type(String solverType) { return JungleMazeGame.SolverType.valueOf(solverType); }
+
+    /* ---------- mazes ---------- */
+
+    @Override
+    public Object maze(String generator, int size, long seed, double loops, String terrain) {
+        JungleMazeGame.Maze m = m(generate(generator, size, seed));
+        m.placeStartAndExit();
+        m.openRandomWalls(loops);
+        applyTerrain(m, terrain, seed);
+        return m;
+    }
+
+    @Override
+    public Object generate(String generator, int size, long seed) {
+        JungleMazeGame.Maze m = new JungleMazeGame.Maze(size, seed);
+        switch (generator) {
+            case "Prim": m.generatePrim(); break;
+            case "Kruskal": m.generateKruskal(); break;
+            case "Eller": m.generateEller(); break;
+            case "TiledPrim": m.generateTiled(false, TILE_ROOMS, ForkJoinPool.commonPool()); break;
+            case "TiledKruskal": m.generateTiled(true, TILE_ROOMS, ForkJoinPool.commonPool()); break;
+            default: throw new IllegalArgumentException("unknown generator " + generator);
+        }
+        return m;
+    }
+
+    @Override
+    public Object generateTiled(boolean kruskal, int size, long seed, ForkJoinPool pool) {
+        JungleMazeGame.Maze m = new JungleMazeGame.Maze(size, seed);
+        m.generateTiled(kruskal, TILE_ROOMS, pool);
+        return m;
+    }
+
+    @Override
+    public int streamEller(int width, int height, long seed, OutputStream out) throws IOException {
+        JungleMazeGame.EllerGenerator gen = new JungleMazeGame.EllerGenerator(width, height, new SplittableRandom(seed));
+        gen.writeTo(out);
+        return gen.height;
+    }
+
+    // "default" keeps the generator's terrain; the others redraw every open cell
+    static void applyTerrain(JungleMazeGame.Maze m, String terrain, long seed) {
+        if ("default".equals(terrain)) return;
+        SplittableRandom g = new SplittableRandom(seed);
+        for (int id = 0; id < m.size * m.size; id++) {
+            if (!m.isOpen(id)) continue;
+            int t;
+            switch (terrain) {
+                case "flat": t = JungleMazeGame.Maze.TERR_DEFAULT; break;
+                case "heavy": {
+                    // 40% default, 20% grass, 20% mud, 20% water
+                    int v = g.nextInt(5);
+                    t = v <= 1 ? JungleMazeGame.Maze.TERR_DEFAULT : v - 1;
+                    break;
+                }
+                default: throw new IllegalArgumentException("unknown terrain mix " + terrain);
+            }
+            m.setTerrain(id, t);
+        }
+    }
+
+    @Override
+    public void openUp(Object maze) {
+        JungleMazeGame.Maze m = m(maze);
+        for (int id = 0; id < m.size * m.size; id++) {
+            if (m.state(id) == JungleMazeGame.Maze.WALL && id % 7 != 0) m.setState(id, JungleMazeGame.Maze.PATH);
+        }
+    }
+
+    @Override public int size(Object maze) { return m(maze).size; }
+    @Override public boolean isOpen(Object maze, int id) { return m(maze).isOpen(id); }
+    @Override public int start(Object maze) { return m(maze).id(m(maze).startR, m(maze).startC); }
+    @Override public int exit(Object maze) { return m(maze).id(m(maze).exitR, m(maze).exitC); }
+
+    @Override
+    public void setEndpoints(Object maze, int start, int exit) {
+        JungleMazeGame.Maze m = m(maze);
+        m.startR = start / m.size; m.startC = start % m.size;
+        m.exitR = exit / m.size; m.exitC = exit % m.size;
+    }
+
+    /* ---------- solving ---------- */
+
+    @Override
+    public Object solve(Object maze, String solverType) {
+        return JungleMazeGame.Solver.solve(m(maze), type(solverType));
+    }
+
+    @Override
+    public Object markingSolve(Object maze, String solverType) {
+        JungleMazeGame.Solver s = new JungleMazeGame.Solver(m(maze), type(solverType), true, false);
+        while (!s.step()) s.dirty.clear();
+        s.publish();
+        return s.result();
+    }
+
+    @Override
+    public int deltaStepping(Object maze, ForkJoinPool pool) {
+        JungleMazeGame.DeltaStepping ds = new JungleMazeGame.DeltaStepping(m(maze), start(maze), exit(maze),
+                JungleMazeGame.DeltaStepping.DEFAULT_DELTA, pool);
+        while (!ds.drainBucket(null)) { }
+        return ds.dist.get(ds.target) + m(maze).cost(ds.source);     // as SolveResult.totalWeight
+    }
+
+    @Override
+    public int steps(Object result) {
+        return ((JungleMazeGame.SolveResult) result).steps;
+    }
+
+    /* ---------- traces and files ---------- */
+
+    @Override
+    public Object recordTrace(Object maze, String solverType) {
+        return JungleMazeGame.SolveTrace.record(m(maze), type(solverType));
+    }
+
+    @Override
+    public int traceSteps(Object trace) {
+        return ((JungleMazeGame.SolveTrace) trace).steps;
+    }
+
+    @Override
+    public byte[] writeTrace(Object trace) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ((JungleMazeGame.SolveTrace) trace).write(bytes);
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public Object readTrace(byte[] bytes) throws IOException {
+        return JungleMazeGame.SolveTrace.read(new ByteArrayInputStream(bytes));
+    }
+
+    @Override
+    public Object replay(Object maze, Object trace) {
+        return new JungleMazeGame.TraceReplay(m(maze), (JungleMazeGame.SolveTrace) trace);
+    }
+
+    @Override
+    public void seek(Object replay, int pos) {
+        JungleMazeGame.TraceReplay rp = (JungleMazeGame.TraceReplay) replay;
+        rp.seek(pos);
+        rp.dirty.clear();
+    }
+
+    @Override
+    public void writeMaze(Object maze, Path file) throws IOException {
+        JungleMazeGame.MazeFile.write(m(maze), file);
+    }
+
+    @Override
+    public Object mapMaze(Path file) throws IOException {
+        return JungleMazeGame.MazeFile.map(file);
+    }
+
+    /* ---------- per-maze structures ---------- */
+
+    @Override
+    public Object buildCorridorGraph(Object maze) {
+        return new JungleMazeGame.CorridorGraph(m(maze));
+    }
+
+    @Override
+    public Object buildLandmarks(Object maze) {
+        return new JungleMazeGame.Landmarks(m(maze), JungleMazeGame.Landmarks.DEFAULT_COUNT, ForkJoinPool.commonPool());
+    }
+
+    @Override
+    public Object buildFlowField(Object maze) {
+        return new JungleMazeGame.FlowField(m(maze), exit(maze));
+    }
+
+    @Override
+    public int[] flowPath(Object field, int start) {
+        return ((JungleMazeGame.FlowField) field).pathFrom(start);
+    }
+
+    @Override
+    public long[] flood(Object maze, int source) {
+        return JungleMazeGame.BitBfs.flood(m(maze), source, -1);
+    }
+
+    @Override
+    public boolean[] queueFlood(Object maze, int source) {
+        JungleMazeGame.Maze m = m(maze);
+        boolean[] seen = new boolean[m.size * m.size];
+        int[] queue = new int[m.size * m.size];
+        int head = 0, tail = 0;
+        seen[source] = true;
+        queue[tail++] = source;
+        while (head < tail) {
+            int id = queue[head++], r = id / m.size, c = id % m.size;
+            for (int[] d : JungleMazeGame.Maze.DIRS4) {
+                int nr = r + d[0], nc = c + d[1];
+                if (!m.inBounds(nr, nc)) continue;
+                int n = nr * m.size + nc;
+                if (!seen[n] && m.isOpen(n)) {
+                    seen[n] = true;
+                    queue[tail++] = n;
+                }
+            }
+        }
+        return seen;
+    }
+
+    /* ---------- many queries ---------- */
+
+    @Override
+    public AutoCloseable queryService(Object maze, String solverType, ForkJoinPool pool) {
+        return new JungleMazeGame.QueryService(m(maze), type(solverType), pool);
+    }
+
+    @Override
+    public Object serviceSolve(Object service, int start, int exit) {
+        return ((JungleMazeGame.QueryService) service).solve(start, exit);
+    }
+
+    @Override
+    public Object[] serviceSolveAll(Object service, int[] starts, int[] exits) {
+        return ((JungleMazeGame.QueryService) service).solveAll(starts, exits);
+    }
+
+    @Override
+    public Object solveCache(long maxBytes) {
+        return new JungleMazeGame.SolveCache(maxBytes);
+    }
+
+    @Override
+    public long resultBytes(Object result) {
+        return JungleMazeGame.SolveCache.weight((JungleMazeGame.SolveResult) result);
+    }
+
+    @Override
+    public Object cachedSolve(Object cache, Object maze, String solverType) {
+        return ((JungleMazeGame.SolveCache) cache).solve(m(maze), type(solverType));
+    }
+}
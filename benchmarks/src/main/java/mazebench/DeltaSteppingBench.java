@@ -0,0 +1,54 @@
+package mazebench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/* Delta-stepping on pools of 1, 2, 4 and 8 threads, next to the sequential Dijkstra it
+ * replaces (which ignores `threads`). Buckets only split into parallel chunks once their
+ * frontier passes DeltaStepping.CHUNK cells, so corridors mostly stay on the calling
+ * thread and the open grid is where extra threads can show. The scores only mean
+ * something up to the machine's core count. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Xmx4g"})
+public class DeltaSteppingBench {
+
+    @Param({"1001", "4001"})
+    int size;
+
+    @Param({"maze", "open"})
+    String grid;
+
+    @Param({"1", "2", "4", "8"})
+    int threads;
+
+    Object maze;
+    ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        maze = MazeOps.INSTANCE.maze("Kruskal", size, Run.SEED, 0.1, "heavy");
+        if ("open".equals(grid)) MazeOps.INSTANCE.openUp(maze);
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public int deltaStepping() {
+        return MazeOps.INSTANCE.deltaStepping(maze, pool);
+    }
+
+    @Benchmark
+    public Object dijkstra() {
+        return MazeOps.INSTANCE.solve(maze, "DIJKSTRA");
+    }
+}
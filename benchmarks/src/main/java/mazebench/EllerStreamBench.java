@@ -0,0 +1,34 @@
+package mazebench;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/* Eller's generator streaming a tall maze into a sink that only counts bytes. Its state
+ * is one row wide, so gc.alloc.rate.norm should stay flat as `height` grows. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Xmx1g"})
+public class EllerStreamBench {
+
+    @Param({"1001", "4001"})
+    int width;
+
+    @Param({"1001", "20001"})
+    int height;
+
+    @Benchmark
+    public int stream(Blackhole bh) throws IOException {
+        OutputStream sink = new OutputStream() {
+            @Override public void write(int b) { bh.consume(b); }
+            @Override public void write(byte[] b, int off, int len) { bh.consume(len); }
+        };
+        return MazeOps.INSTANCE.streamEller(width, height, Run.SEED, sink);
+    }
+}
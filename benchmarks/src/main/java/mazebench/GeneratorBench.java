@@ -0,0 +1,27 @@
+package mazebench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/* Every Maze generator across grid sizes; the seed is fixed, so each size measures
+ * the same maze on every run. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Xmx4g"})
+public class GeneratorBench {
+
+    @Param({"Prim", "Kruskal", "Eller", "TiledPrim", "TiledKruskal"})
+    String generator;
+
+    @Param({"51", "201", "1001", "4001"})
+    int size;
+
+    @Benchmark
+    public Object generate() {
+        return MazeOps.INSTANCE.generate(generator, size, Run.SEED);
+    }
+}
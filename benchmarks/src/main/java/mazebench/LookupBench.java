@@ -0,0 +1,58 @@
+package mazebench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/* Answers that skip the search: paths read off a flow field to the exit from random
+ * starts, and A* queries through a SolveCache, skewed towards a few popular pairs, with
+ * a budget for about half of the distinct results. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Xmx4g"})
+public class LookupBench {
+
+    static final int PAIRS = 32;
+
+    @Param({"201", "1001"})
+    int size;
+
+    Object maze, field, cache;
+    int[] starts, exits, picks;
+    int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        maze = MazeOps.INSTANCE.maze("Kruskal", size, Run.SEED, 0.1, "default");
+        field = MazeOps.INSTANCE.buildFlowField(maze);
+        SplittableRandom rnd = new SplittableRandom(Run.SEED);
+        starts = new int[PAIRS];
+        exits = new int[PAIRS];
+        long budget = 0;
+        for (int i = 0; i < PAIRS; i++) {
+            starts[i] = Run.randomOpen(maze, rnd);
+            exits[i] = Run.randomOpen(maze, rnd);
+            MazeOps.INSTANCE.setEndpoints(maze, starts[i], exits[i]);
+            if (i < PAIRS / 2) budget += MazeOps.INSTANCE.resultBytes(MazeOps.INSTANCE.solve(maze, "ASTAR"));
+        }
+        cache = MazeOps.INSTANCE.solveCache(budget);
+        picks = new int[1024];
+        for (int i = 0; i < picks.length; i++) picks[i] = (int) (PAIRS * Math.pow(rnd.nextDouble(), 3));
+    }
+
+    @Benchmark
+    public int[] flowFieldPath() {
+        return MazeOps.INSTANCE.flowPath(field, starts[next++ & PAIRS - 1]);
+    }
+
+    @Benchmark
+    public Object cachedSolve() {
+        int q = picks[next++ & picks.length - 1];
+        MazeOps.INSTANCE.setEndpoints(maze, starts[q], exits[q]);
+        return MazeOps.INSTANCE.cachedSolve(cache, maze, "ASTAR");
+    }
+}
@@ -0,0 +1,59 @@
+package mazebench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/* Every solver type solving the GUI way (marking its own overlay, step by step) on one
+ * shared maze, all at once on a pool of `threads`. With one thread this is the sequential
+ * cost; the maze is only read, so more threads need no locking. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Xmx4g"})
+public class MarkingBench {
+
+    static final String[] SOLVERS = {"BFS", "DFS", "DIJKSTRA", "ASTAR", "DIAL", "DIAL_ASTAR", "BIDI_BFS",
+            "BIDI_DIJKSTRA", "CORRIDOR", "CORRIDOR_DIJKSTRA", "ALT", "DELTA_STEPPING"};
+
+    @Param({"1001"})
+    int size;
+
+    @Param({"1", "4"})
+    int threads;
+
+    Object maze;
+    ForkJoinPool pool;
+    List<Callable<Object>> jobs;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        maze = MazeOps.INSTANCE.maze("Kruskal", size, Run.SEED, 0.1, "default");
+        pool = new ForkJoinPool(threads);
+        jobs = new ArrayList<>();
+        for (String s : SOLVERS) {
+            MazeOps.INSTANCE.solve(maze, s);        // corridor graph and landmarks built outside the timing
+            jobs.add(() -> MazeOps.INSTANCE.markingSolve(maze, s));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public Object allSolvers() throws InterruptedException, ExecutionException {
+        Object last = null;
+        for (Future<Object> f : pool.invokeAll(jobs)) last = f.get();
+        return last;
+    }
+}
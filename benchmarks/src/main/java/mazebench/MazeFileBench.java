@@ -0,0 +1,61 @@
+package mazebench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/* The maze file format: writing, mapping (header and planes only, no decode), and a DIAL
+ * solve on the mapped maze next to the same solve on the heap copy. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Xmx4g"})
+public class MazeFileBench {
+
+    @Param({"1001", "4001"})
+    int size;
+
+    Object maze, mapped;
+    Path file, scratch;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        maze = MazeOps.INSTANCE.maze("Kruskal", size, Run.SEED, 0.1, "default");
+        file = Files.createTempFile("bench", ".jmaze");
+        scratch = Files.createTempFile("bench-write", ".jmaze");
+        MazeOps.INSTANCE.writeMaze(maze, file);
+        mapped = MazeOps.INSTANCE.mapMaze(file);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        mapped = null;
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(scratch);
+    }
+
+    @Benchmark
+    public void write() throws IOException {
+        MazeOps.INSTANCE.writeMaze(maze, scratch);
+    }
+
+    @Benchmark
+    public Object map() throws IOException {
+        return MazeOps.INSTANCE.mapMaze(file);
+    }
+
+    @Benchmark
+    public Object solveHeap() {
+        return MazeOps.INSTANCE.solve(maze, "DIAL");
+    }
+
+    @Benchmark
+    public Object solveMapped() {
+        return MazeOps.INSTANCE.solve(mapped, "DIAL");
+    }
+}
@@ -0,0 +1,95 @@
+package mazebench;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+/* Bridge to the game classes. They live in the default package, which named packages
+ * cannot import, and JMH refuses benchmarks in the default package; MazeBenchOps (default
+ * package, this module) implements this interface and is looked up by name.
+ * Mazes, results and the other game objects are passed around as opaque Objects;
+ * cells are flat ids (r*size+c). */
+public interface MazeOps {
+
+    MazeOps INSTANCE = load();
+
+    /* ---------- mazes ---------- */
+
+    // Generated maze with start/exit placed, `loops` of the inner walls opened and the
+    // terrain mix applied: "default" (generator odds), "flat" (all weight 1), "heavy".
+    Object maze(String generator, int size, long seed, double loops, String terrain);
+
+    // Walls/terrain only, no endpoints or loops: what the generator benchmarks time.
+    Object generate(String generator, int size, long seed);
+
+    // Tiled generation (Prim or Kruskal per tile) on the given pool.
+    Object generateTiled(boolean kruskal, int size, long seed, ForkJoinPool pool);
+
+    // Streams a width x height Eller maze to `out`; returns the rows written.
+    int streamEller(int width, int height, long seed, OutputStream out) throws IOException;
+
+    // Opens every wall except every 7th cell: wide open areas instead of corridors.
+    void openUp(Object maze);
+
+    int size(Object maze);
+    boolean isOpen(Object maze, int id);
+    int start(Object maze);
+    int exit(Object maze);
+    void setEndpoints(Object maze, int start, int exit);
+
+    /* ---------- solving ---------- */
+
+    // Headless solve (Solver.solve); returns the SolveResult.
+    Object solve(Object maze, String solverType);
+
+    // GUI-style solve without Swing: a marking Solver stepped to the end, then published.
+    Object markingSolve(Object maze, String solverType);
+
+    // Delta-stepping from start to exit with its relaxations on `pool`; returns the weight.
+    int deltaStepping(Object maze, ForkJoinPool pool);
+
+    // Expanded cells of a SolveResult, for sanity checks.
+    int steps(Object result);
+
+    /* ---------- traces and files ---------- */
+
+    Object recordTrace(Object maze, String solverType);
+    int traceSteps(Object trace);
+    byte[] writeTrace(Object trace) throws IOException;
+    Object readTrace(byte[] bytes) throws IOException;
+
+    // TraceReplay of `trace` on `maze`; seek() moves it and drops its dirty list.
+    Object replay(Object maze, Object trace);
+    void seek(Object replay, int pos);
+
+    void writeMaze(Object maze, Path file) throws IOException;
+    Object mapMaze(Path file) throws IOException;
+
+    /* ---------- per-maze structures, built fresh (not through the maze's caches) ---------- */
+
+    Object buildCorridorGraph(Object maze);
+    Object buildLandmarks(Object maze);
+    Object buildFlowField(Object maze);         // towards the exit
+    int[] flowPath(Object field, int start);
+    long[] flood(Object maze, int source);
+    boolean[] queueFlood(Object maze, int source);  // per-cell queue BFS, the reference for flood()
+
+    /* ---------- many queries ---------- */
+
+    AutoCloseable queryService(Object maze, String solverType, ForkJoinPool pool);
+    Object serviceSolve(Object service, int start, int exit);
+    Object[] serviceSolveAll(Object service, int[] starts, int[] exits);
+
+    Object solveCache(long maxBytes);
+    long resultBytes(Object result);            // what a result costs in a solve cache
+    Object cachedSolve(Object cache, Object maze, String solverType);
+
+    static MazeOps load() {
+        try {
+            return (MazeOps) Class.forName("MazeBenchOps").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("MazeBenchOps not on the classpath", ex);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package mazebench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/* One-off per-maze structures, built fresh on every call instead of through the maze's
+ * caches: the corridor (junction) graph, the ALT landmarks and a flow field to the exit.
+ * SolverBench measures the queries that reuse them. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Xmx4g"})
+public class PreprocessBench {
+
+    @Param({"201", "1001", "4001"})
+    int size;
+
+    @Param({"0.0", "0.1"})
+    double loops;
+
+    Object maze;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        maze = MazeOps.INSTANCE.maze("Kruskal", size, Run.SEED, loops, "default");
+    }
+
+    @Benchmark
+    public Object corridorGraph() {
+        return MazeOps.INSTANCE.buildCorridorGraph(maze);
+    }
+
+    @Benchmark
+    public Object landmarks() {
+        return MazeOps.INSTANCE.buildLandmarks(maze);
+    }
+
+    @Benchmark
+    public Object flowField() {
+        return MazeOps.INSTANCE.buildFlowField(maze);
+    }
+}
@@ -0,0 +1,76 @@
+package mazebench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/* Random (start, exit) queries on one maze: a fresh Solver per query, QueryService on the
+ * calling thread, and QueryService.solveAll over a batch of BATCH queries on the common
+ * pool. Scores are queries per second (the batch counts BATCH operations). */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Xmx4g"})
+public class QueryBench {
+
+    static final int BATCH = 64;
+
+    @Param({"BFS", "DIJKSTRA", "ASTAR", "ALT"})
+    String solver;
+
+    @Param({"201", "1001"})
+    int size;
+
+    Object maze;
+    AutoCloseable service;
+    int[] starts, exits;
+    int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        maze = MazeOps.INSTANCE.maze("Kruskal", size, Run.SEED, 0.1, "default");
+        SplittableRandom rnd = new SplittableRandom(Run.SEED);
+        starts = new int[1024];
+        exits = new int[1024];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = Run.randomOpen(maze, rnd);
+            exits[i] = Run.randomOpen(maze, rnd);
+        }
+        service = MazeOps.INSTANCE.queryService(maze, solver, ForkJoinPool.commonPool());
+        MazeOps.INSTANCE.solve(maze, solver);       // landmarks built outside the timing
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        service.close();
+    }
+
+    @Benchmark
+    public Object solver() {
+        int i = next++ & starts.length - 1;
+        MazeOps.INSTANCE.setEndpoints(maze, starts[i], exits[i]);
+        return MazeOps.INSTANCE.solve(maze, solver);
+    }
+
+    @Benchmark
+    public Object service() {
+        int i = next++ & starts.length - 1;
+        return MazeOps.INSTANCE.serviceSolve(service, starts[i], exits[i]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public Object[] serviceBatch() {
+        int from = (next += BATCH) & starts.length - 1;
+        int[] s = new int[BATCH], e = new int[BATCH];
+        for (int k = 0; k < BATCH; k++) {
+            s[k] = starts[from + k & starts.length - 1];
+            e[k] = exits[from + k & starts.length - 1];
+        }
+        return MazeOps.INSTANCE.serviceSolveAll(service, s, e);
+    }
+}
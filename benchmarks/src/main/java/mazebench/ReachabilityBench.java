@@ -0,0 +1,42 @@
+package mazebench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/* Whole-component reachability from the start: BitBfs.flood against a per-cell queue BFS,
+ * on a maze with 10% of its inner walls opened and on a nearly open grid (every 7th wall
+ * kept). */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Xmx4g"})
+public class ReachabilityBench {
+
+    @Param({"1001", "4001"})
+    int size;
+
+    @Param({"maze", "open"})
+    String grid;
+
+    Object maze;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        maze = MazeOps.INSTANCE.maze("Kruskal", size, Run.SEED, 0.1, "default");
+        if ("open".equals(grid)) MazeOps.INSTANCE.openUp(maze);
+        MazeOps.INSTANCE.flood(maze, MazeOps.INSTANCE.start(maze));    // open-cell bitset built outside the timing
+    }
+
+    @Benchmark
+    public long[] flood() {
+        return MazeOps.INSTANCE.flood(maze, MazeOps.INSTANCE.start(maze));
+    }
+
+    @Benchmark
+    public boolean[] queue() {
+        return MazeOps.INSTANCE.queueFlood(maze, MazeOps.INSTANCE.start(maze));
+    }
+}
@@ -0,0 +1,36 @@
+package mazebench;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/* Entry point of benchmarks.jar: the usual JMH command line (org.openjdk.jmh.Main, so -l,
+ * -lp, -h and friends work), with the gc profiler always on so every result carries its
+ * allocation rate (gc.alloc.rate.norm = bytes per op).
+ *
+ * Usage:
+ *  mvn -B package
+ *  java -jar benchmarks/target/benchmarks.jar                        (everything)
+ *  java -jar benchmarks/target/benchmarks.jar -l                     (list benchmarks)
+ *  java -jar benchmarks/target/benchmarks.jar SolverBench -p size=1001 -p solver=DIAL
+ */
+public class Run {
+
+    // fixed seed: every run benchmarks the same mazes
+    static final long SEED = 20240501L;
+
+    // open cell drawn uniformly from `rnd`: the endpoints of the random-query benchmarks
+    static int randomOpen(Object maze, SplittableRandom rnd) {
+        int n = MazeOps.INSTANCE.size(maze) * MazeOps.INSTANCE.size(maze);
+        while (true) {
+            int id = rnd.nextInt(n);
+            if (MazeOps.INSTANCE.isOpen(maze, id)) return id;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        String[] withGc = Arrays.copyOf(args, args.length + 2);
+        withGc[args.length] = "-prof";
+        withGc[args.length + 1] = "gc";
+        org.openjdk.jmh.Main.main(withGc);
+    }
+}
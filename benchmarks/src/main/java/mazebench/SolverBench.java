@@ -0,0 +1,44 @@
+package mazebench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/* Every SolverType on one fixed-seed Kruskal maze per (size, loops, terrain) point.
+ * The maze is built once per trial and solved once there, so per-maze preprocessing
+ * (corridor graph, ALT landmarks) is cached and solve() measures queries only. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Xmx4g"})
+public class SolverBench {
+
+    @Param({"BFS", "DFS", "DIJKSTRA", "ASTAR", "DIAL", "DIAL_ASTAR", "BIDI_BFS", "BIDI_DIJKSTRA",
+            "CORRIDOR", "CORRIDOR_DIJKSTRA", "ALT", "DELTA_STEPPING"})
+    String solver;
+
+    @Param({"51", "201", "1001", "4001"})
+    int size;
+
+    // fraction of inner walls opened (Maze.openRandomWalls)
+    @Param({"0.0", "0.1", "0.3"})
+    double loops;
+
+    @Param({"default", "flat", "heavy"})
+    String terrain;
+
+    Object maze;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        maze = MazeOps.INSTANCE.maze("Kruskal", size, Run.SEED, loops, terrain);
+        MazeOps.INSTANCE.solve(maze, solver);
+    }
+
+    @Benchmark
+    public Object solve() {
+        return MazeOps.INSTANCE.solve(maze, solver);
+    }
+}
@@ -0,0 +1,44 @@
+package mazebench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/* Tiled generation on pools of 1, 2, 4 and 8 threads. The maze for a seed is the same
+ * whatever the pool, so the scores compare like with like; on a machine with fewer cores
+ * the larger pools only measure the overhead. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Xmx4g"})
+public class TiledGeneratorBench {
+
+    @Param({"false", "true"})
+    boolean kruskal;
+
+    @Param({"1001", "4001"})
+    int size;
+
+    @Param({"1", "2", "4", "8"})
+    int threads;
+
+    ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public Object generate() {
+        return MazeOps.INSTANCE.generateTiled(kruskal, size, Run.SEED, pool);
+    }
+}
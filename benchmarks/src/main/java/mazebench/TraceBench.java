@@ -0,0 +1,57 @@
+package mazebench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/* Recording a Dijkstra solve, the trace's file form both ways, and random seeks of a
+ * TraceReplay (forward continues the decoder, backward undoes from a keyframe). */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Xmx4g"})
+public class TraceBench {
+
+    @Param({"201", "2001"})
+    int size;
+
+    Object maze, trace, replay;
+    byte[] bytes;
+    int[] positions;
+    int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        maze = MazeOps.INSTANCE.maze("Kruskal", size, Run.SEED, 0.1, "default");
+        trace = MazeOps.INSTANCE.recordTrace(maze, "DIJKSTRA");
+        bytes = MazeOps.INSTANCE.writeTrace(trace);
+        replay = MazeOps.INSTANCE.replay(maze, trace);
+        SplittableRandom rnd = new SplittableRandom(Run.SEED);
+        positions = new int[1024];
+        for (int i = 0; i < positions.length; i++) positions[i] = rnd.nextInt(MazeOps.INSTANCE.traceSteps(trace) + 1);
+    }
+
+    @Benchmark
+    public Object record() {
+        return MazeOps.INSTANCE.recordTrace(maze, "DIJKSTRA");
+    }
+
+    @Benchmark
+    public byte[] write() throws IOException {
+        return MazeOps.INSTANCE.writeTrace(trace);
+    }
+
+    @Benchmark
+    public Object read() throws IOException {
+        return MazeOps.INSTANCE.readTrace(bytes);
+    }
+
+    @Benchmark
+    public void seek() {
+        MazeOps.INSTANCE.seek(replay, positions[next++ & positions.length - 1]);
+    }
+}
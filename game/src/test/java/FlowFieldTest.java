@@ -0,0 +1,45 @@
+/* FlowFieldTest.java
+ * Flow fields against per-start Dijkstra solves, and the per-maze field cache.
+ */
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+class FlowFieldTest {
+
+    @Test
+    void pathsMatchDijkstraFromEveryStart() {
+        for (long seed : MazeFixtures.SEEDS) for (double loops : MazeFixtures.LOOPS) {
+            JungleMazeGame.Maze m = MazeFixtures.maze(41, seed, loops);
+            JungleMazeGame.FlowField f = m.flowFieldToExit();
+            int exit = m.id(m.exitR, m.exitC);
+            SplittableRandom rnd = new SplittableRandom(seed);
+            for (int q = 0; q < 50; q++) {
+                int start = MazeFixtures.randomOpen(m, rnd);
+                MazeFixtures.setEndpoints(m, start, exit);
+                JungleMazeGame.SolveResult ref = JungleMazeGame.Solver.solve(m, JungleMazeGame.SolverType.DIJKSTRA);
+                int[] path = f.pathFrom(start);
+                String where = MazeFixtures.describe(m) + ", loops " + loops + ", from " + start;
+                assertEquals(start, path[0], where + ": path start");
+                assertEquals(exit, path[path.length - 1], where + ": path end");
+                int weight = 0;
+                for (int id : path) weight += m.cost(id);
+                assertEquals(ref.totalWeight, weight, where + ": weight vs DIJKSTRA");
+            }
+        }
+    }
+
+    @Test
+    void cachedUntilTheLayoutChanges() {
+        JungleMazeGame.Maze m = MazeFixtures.maze(41, 6, 0.0);
+        JungleMazeGame.FlowField f = m.flowFieldToExit();
+        assertSame(f, m.flowFieldToExit(), "field rebuilt for an unchanged maze");
+        m.openRandomWalls(0.1);
+        JungleMazeGame.FlowField g = m.flowFieldToExit();
+        assertNotSame(f, g, "stale field after openRandomWalls");
+        assertSame(g, m.flowFieldToExit());
+    }
+}
@@ -0,0 +1,65 @@
+/* GeneratorTest.java
+ * Every generator must produce a perfect maze, and the same maze for the same seed
+ * (tiled generation regardless of the pool it runs in).
+ */
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class GeneratorTest {
+
+    static ForkJoinPool pool;
+
+    @BeforeAll
+    static void startPool() { pool = new ForkJoinPool(4); }
+
+    @AfterAll
+    static void stopPool() { pool.shutdown(); }
+
+    static Stream<String> generators() { return Arrays.stream(MazeFixtures.GENERATORS); }
+
+    @ParameterizedTest
+    @MethodSource("generators")
+    void generatesPerfectMazes(String generator) {
+        for (long seed : MazeFixtures.SEEDS) for (int size : MazeFixtures.SIZES) {
+            MazeFixtures.assertPerfect(MazeFixtures.generate(generator, size, seed, pool));
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("generators")
+    void sameSeedSameMaze(String generator) {
+        ForkJoinPool single = new ForkJoinPool(1);
+        try {
+            for (long seed : MazeFixtures.SEEDS) {
+                JungleMazeGame.Maze a = MazeFixtures.generate(generator, 61, seed, pool);
+                JungleMazeGame.Maze b = MazeFixtures.generate(generator, 61, seed, single);
+                assertArrayEquals(a.cells, b.cells, generator + " seed " + seed);
+            }
+        } finally {
+            single.shutdown();
+        }
+    }
+
+    // Eller's walls come from the layout stream alone; terrain is drawn in its own phase
+    @Test
+    void ellerLayoutIgnoresTerrain() {
+        JungleMazeGame.Maze m = MazeFixtures.generate("Eller", 61, 11, pool);
+        JungleMazeGame.EllerGenerator gen = new JungleMazeGame.EllerGenerator(m.size, m.size, m.phaseRandom(JungleMazeGame.Maze.PHASE_LAYOUT), null);
+        for (int r = 0; gen.hasNext(); r++) {
+            byte[] row = gen.next();
+            for (int c = 0; c < m.size; c++) {
+                assertEquals(row[c] & JungleMazeGame.Maze.STATE_MASK, m.state(r, c), "cell " + r + "," + c);
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/* MazeFileTest.java
+ * MazeFile round-trips: write() then load() gives back the maze (terrain of walls is not
+ * stored), map() solves exactly like the in-memory original, and the mapped maze refuses
+ * every write.
+ */
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MazeFileTest {
+
+    @TempDir
+    Path dir;
+
+    // the cells a file can reproduce: walls lose their terrain
+    static byte[] stored(JungleMazeGame.Maze m) {
+        byte[] cells = m.cells.clone();
+        for (int i = 0; i < cells.length; i++) {
+            if ((cells[i] & JungleMazeGame.Maze.STATE_MASK) == JungleMazeGame.Maze.WALL) cells[i] = JungleMazeGame.Maze.WALL;
+        }
+        return cells;
+    }
+
+    @Test
+    void writeThenLoadRestoresTheMaze() throws IOException {
+        for (long seed : MazeFixtures.SEEDS) for (int size : MazeFixtures.SIZES) {
+            JungleMazeGame.Maze m = MazeFixtures.maze(size, seed, 0.1);
+            Path f = dir.resolve("m" + size + "-" + seed + ".jmaze");
+            JungleMazeGame.MazeFile.write(m, f);
+            assertEquals(JungleMazeGame.MazeFile.HEADER_BYTES + JungleMazeGame.MazeFile.wallBytes(m.size)
+                    + JungleMazeGame.MazeFile.terrainBytes(m.size), Files.size(f), "file length");
+
+            JungleMazeGame.Maze back = JungleMazeGame.MazeFile.load(f);
+            String where = MazeFixtures.describe(m);
+            assertEquals(m.size, back.size, where);
+            assertEquals(m.seed, back.seed, where);
+            assertEquals(m.generator, back.generator, where);
+            assertEquals(m.startR, back.startR, where);
+            assertEquals(m.startC, back.startC, where);
+            assertEquals(m.exitR, back.exitR, where);
+            assertEquals(m.exitC, back.exitC, where);
+            assertArrayEquals(stored(m), back.cells, where + ": cells");
+        }
+    }
+
+    @Test
+    void mappedMazeSolvesLikeTheOriginal() throws IOException {
+        JungleMazeGame.Maze m = MazeFixtures.maze(61, 5, 0.1);
+        Path f = dir.resolve("mapped.jmaze");
+        JungleMazeGame.MazeFile.write(m, f);
+        JungleMazeGame.MazeFile.MappedMaze mapped = JungleMazeGame.MazeFile.map(f);
+        for (JungleMazeGame.SolverType t : JungleMazeGame.SolverType.values()) {
+            JungleMazeGame.SolveResult expected = JungleMazeGame.Solver.solve(m, t);
+            JungleMazeGame.SolveResult actual = JungleMazeGame.Solver.solve(mapped, t);
+            assertEquals(expected.steps, actual.steps, t + ": steps");
+            assertEquals(expected.totalWeight, actual.totalWeight, t + ": weight");
+            assertArrayEquals(expected.path, actual.path, t + ": path");
+        }
+        assertArrayEquals(stored(m), mapped.toMaze().cells);
+    }
+
+    @Test
+    void rejectsFilesThatAreNotMazes() throws IOException {
+        Path f = dir.resolve("junk.jmaze");
+        Files.write(f, new byte[JungleMazeGame.MazeFile.HEADER_BYTES]);
+        assertThrows(IOException.class, () -> JungleMazeGame.MazeFile.map(f));
+
+        Path shortFile = dir.resolve("short.jmaze");
+        Files.write(shortFile, new byte[3]);
+        assertThrows(IOException.class, () -> JungleMazeGame.MazeFile.load(shortFile));
+    }
+
+    @Test
+    void mappedMazeIsReadOnly() throws IOException {
+        JungleMazeGame.Maze m = MazeFixtures.maze(21, 2, 0.1);
+        Path f = dir.resolve("ro.jmaze");
+        JungleMazeGame.MazeFile.write(m, f);
+        JungleMazeGame.MazeFile.MappedMaze mapped = JungleMazeGame.MazeFile.map(f);
+        assertThrows(UnsupportedOperationException.class, () -> mapped.setState(1, 1, JungleMazeGame.Maze.WALL));
+        assertThrows(UnsupportedOperationException.class, () -> mapped.setTerrain(1, 1, 2));
+        assertThrows(UnsupportedOperationException.class, () -> mapped.putState(1, 1, JungleMazeGame.Maze.WALL));
+        assertThrows(UnsupportedOperationException.class, () -> mapped.putTerrain(1, 1, 2));
+        assertThrows(UnsupportedOperationException.class, mapped::layoutChanged);
+        assertThrows(UnsupportedOperationException.class, mapped::generatePrim);
+        assertThrows(UnsupportedOperationException.class, mapped::generateEller);
+        assertThrows(UnsupportedOperationException.class, mapped::placeStartAndExit);
+
+        // what MazePanel draws from
+        JungleMazeGame.Maze copy = mapped.toMaze();
+        for (int id = 0; id < copy.size * copy.size; id++) assertEquals(copy.code(id), mapped.code(id), "cell " + id);
+    }
+
+    @Test
+    void rejectsEndpointsOffTheGrid() throws IOException {
+        JungleMazeGame.Maze m = MazeFixtures.maze(21, 4, 0.0);
+        Path f = dir.resolve("ends.jmaze");
+        JungleMazeGame.MazeFile.write(m, f);
+        byte[] good = Files.readAllBytes(f);
+        // startR, startC, exitR, exitC follow magic, version, generator, padding and size
+        int[][] bad = {{12, 21}, {16, -2}, {20, -1}, {24, 1 << 20}};
+        for (int[] b : bad) {
+            byte[] bytes = good.clone();
+            ByteBuffer.wrap(bytes).putInt(b[0], b[1]);
+            Path broken = dir.resolve("bad" + b[0] + "_" + b[1] + ".jmaze");
+            Files.write(broken, bytes);
+            assertThrows(IOException.class, () -> JungleMazeGame.MazeFile.map(broken), "header int at " + b[0] + " = " + b[1]);
+        }
+
+        // on the grid but on a wall: the corner is never open
+        byte[] bytes = good.clone();
+        ByteBuffer.wrap(bytes).putInt(12, 0).putInt(16, 0);
+        Path corner = dir.resolve("corner.jmaze");
+        Files.write(corner, bytes);
+        assertThrows(IOException.class, () -> JungleMazeGame.MazeFile.map(corner));
+    }
+}
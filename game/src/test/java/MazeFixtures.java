@@ -0,0 +1,125 @@
+/* MazeFixtures.java
+ * Shared mazes and structural checks for the game tests: every test builds its mazes here,
+ * so a fixture change (seeds, loop fractions) applies to the whole suite.
+ */
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayDeque;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+final class MazeFixtures {
+
+    static final long[] SEEDS = {1, 2, 3, 5, 8, 13};
+    static final int[] SIZES = {5, 21, 40, 61};
+    static final double[] LOOPS = {0.0, 0.1, 0.5};
+
+    // small tiles so even the test sizes split into several
+    static final int TILE_ROOMS = 4;
+
+    static final String[] GENERATORS = {"Prim", "Kruskal", "TiledPrim", "TiledKruskal", "Eller"};
+
+    private MazeFixtures() { }
+
+    // Kruskal maze with endpoints placed and `loops` of the inner walls opened
+    static JungleMazeGame.Maze maze(int size, long seed, double loops) {
+        JungleMazeGame.Maze m = new JungleMazeGame.Maze(size, seed);
+        m.generateKruskal();
+        m.placeStartAndExit();
+        m.openRandomWalls(loops);
+        return m;
+    }
+
+    // A bare generator run by name (no endpoints, no loops); tiled ones run in `pool`
+    static JungleMazeGame.Maze generate(String generator, int size, long seed, ForkJoinPool pool) {
+        JungleMazeGame.Maze m = new JungleMazeGame.Maze(size, seed);
+        switch (generator) {
+            case "Prim": m.generatePrim(); break;
+            case "Kruskal": m.generateKruskal(); break;
+            case "TiledPrim": m.generateTiled(false, TILE_ROOMS, pool); break;
+            case "TiledKruskal": m.generateTiled(true, TILE_ROOMS, pool); break;
+            case "Eller": m.generateEller(); break;
+            default: throw new IllegalArgumentException("unknown generator " + generator);
+        }
+        return m;
+    }
+
+    static int randomOpen(JungleMazeGame.Maze m, SplittableRandom rnd) {
+        while (true) {
+            int id = rnd.nextInt(m.size * m.size);
+            if (m.isOpen(id)) return id;
+        }
+    }
+
+    // moves the endpoints without touching the cells (solvers only read startR..exitC)
+    static void setEndpoints(JungleMazeGame.Maze m, int start, int exit) {
+        m.startR = start / m.size; m.startC = start % m.size;
+        m.exitR = exit / m.size; m.exitC = exit % m.size;
+    }
+
+    static String describe(JungleMazeGame.Maze m) {
+        return m.size + "x" + m.size + " seed " + m.seed;
+    }
+
+    // start..exit, 4-connected, open cells only, no repeats, weight = sum of cell costs
+    static void assertPath(JungleMazeGame.Maze m, JungleMazeGame.SolveResult r) {
+        int[] p = r.path;
+        String where = r.type + " on " + describe(m);
+        assertEquals(m.id(m.startR, m.startC), p[0], where + ": path start");
+        assertEquals(m.id(m.exitR, m.exitC), p[p.length - 1], where + ": path end");
+        assertEquals(p.length - 1, r.shortestPathSteps, where + ": path steps");
+        boolean[] seen = new boolean[m.size * m.size];
+        int weight = 0;
+        for (int i = 0; i < p.length; i++) {
+            assertTrue(m.isOpen(p[i]), where + ": path crosses a wall at " + p[i]);
+            assertFalse(seen[p[i]], where + ": path repeats " + p[i]);
+            seen[p[i]] = true;
+            weight += m.cost(p[i]);
+            if (i > 0) {
+                int d = Math.abs(p[i] - p[i - 1]);
+                assertTrue(d == m.size || d == 1 && p[i] / m.size == p[i - 1] / m.size,
+                        where + ": path jumps from " + p[i - 1] + " to " + p[i]);
+            }
+        }
+        assertEquals(weight, r.totalWeight, where + ": path weight");
+    }
+
+    // Perfect maze: the open cells form one tree (connected, and edges = cells - 1)
+    static void assertPerfect(JungleMazeGame.Maze m) {
+        int n = m.size * m.size, open = 0, edges = 0, first = -1;
+        for (int id = 0; id < n; id++) {
+            if (!m.isOpen(id)) continue;
+            if (first < 0) first = id;
+            open++;
+            if (id % m.size + 1 < m.size && m.isOpen(id + 1)) edges++;
+            if (id + m.size < n && m.isOpen(id + m.size)) edges++;
+        }
+        assertTrue(open > 0, describe(m) + ": no open cells");
+        assertEquals(open - 1, edges, describe(m) + ": open cells do not form a tree");
+        assertEquals(open, reachable(m, first), describe(m) + ": open cells are not connected");
+    }
+
+    static int reachable(JungleMazeGame.Maze m, int source) {
+        boolean[] seen = new boolean[m.size * m.size];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        seen[source] = true;
+        queue.add(source);
+        int count = 0;
+        while (!queue.isEmpty()) {
+            int id = queue.poll();
+            count++;
+            int r = id / m.size, c = id % m.size;
+            for (int[] d : JungleMazeGame.Maze.DIRS4) {
+                int nr = r + d[0], nc = c + d[1];
+                if (!m.inBounds(nr, nc)) continue;
+                int nb = m.id(nr, nc);
+                if (m.isOpen(nb) && !seen[nb]) {
+                    seen[nb] = true;
+                    queue.add(nb);
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,70 @@
+/* QueryServiceTest.java
+ * QueryService against a fresh Solver per query, one at a time and through solveAll,
+ * and the workspace pool's bound and close().
+ */
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class QueryServiceTest {
+
+    static ForkJoinPool pool;
+
+    @BeforeAll
+    static void startPool() { pool = new ForkJoinPool(4); }
+
+    @AfterAll
+    static void stopPool() { pool.shutdown(); }
+
+    @ParameterizedTest
+    @EnumSource(value = JungleMazeGame.SolverType.class, names = {"BFS", "DIJKSTRA", "ASTAR", "ALT"})
+    void matchesSolver(JungleMazeGame.SolverType type) {
+        JungleMazeGame.Maze m = MazeFixtures.maze(61, 3, 0.1);
+        SplittableRandom rnd = new SplittableRandom(3);
+        int n = 100;
+        int[] starts = new int[n], exits = new int[n];
+        for (int i = 0; i < n; i++) {
+            starts[i] = MazeFixtures.randomOpen(m, rnd);
+            exits[i] = MazeFixtures.randomOpen(m, rnd);
+        }
+        try (JungleMazeGame.QueryService qs = new JungleMazeGame.QueryService(m, type, pool)) {
+            JungleMazeGame.SolveResult[] all = qs.solveAll(starts, exits);
+            for (int i = 0; i < n; i++) {
+                MazeFixtures.setEndpoints(m, starts[i], exits[i]);
+                JungleMazeGame.SolveResult ref = JungleMazeGame.Solver.solve(m, type);
+                JungleMazeGame.SolveResult one = qs.solve(starts[i], exits[i]);
+                String where = type + " query " + i;
+                for (JungleMazeGame.SolveResult r : new JungleMazeGame.SolveResult[] {one, all[i]}) {
+                    assertTrue(r.found, where + ": no path");
+                    MazeFixtures.assertPath(m, r);
+                    if (type == JungleMazeGame.SolverType.BFS) {
+                        assertEquals(ref.shortestPathSteps, r.shortestPathSteps, where + ": path steps");
+                    } else {
+                        assertEquals(ref.totalWeight, r.totalWeight, where + ": weight");
+                    }
+                }
+            }
+            assertTrue(qs.idle.size() <= pool.getParallelism() + 1, "idle workspaces over the bound");
+        }
+    }
+
+    @Test
+    void closeDropsWorkspacesAndRefusesQueries() {
+        JungleMazeGame.Maze m = MazeFixtures.maze(21, 1, 0.0);
+        JungleMazeGame.QueryService qs = new JungleMazeGame.QueryService(m, JungleMazeGame.SolverType.BFS, pool);
+        int start = m.startR * m.size + m.startC, exit = m.exitR * m.size + m.exitC;
+        assertTrue(qs.solve(start, exit).found);
+        assertEquals(1, qs.idle.size());
+        qs.close();
+        assertEquals(0, qs.idle.size());
+        assertThrows(IllegalStateException.class, () -> qs.solve(start, exit));
+    }
+}
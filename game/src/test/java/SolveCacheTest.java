@@ -0,0 +1,64 @@
+/* SolveCacheTest.java
+ * SolveCache hits for repeated queries, stays within its byte budget, and never hits
+ * once the grid has changed.
+ */
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+class SolveCacheTest {
+
+    @Test
+    void repeatedQueriesHitWithinTheBudget() {
+        JungleMazeGame.Maze m = MazeFixtures.maze(61, 9, 0.1);
+        SplittableRandom rnd = new SplittableRandom(9);
+        int pairs = 16;
+        int[] starts = new int[pairs], exits = new int[pairs];
+        long budget = 0;
+        for (int i = 0; i < pairs; i++) {
+            starts[i] = MazeFixtures.randomOpen(m, rnd);
+            exits[i] = MazeFixtures.randomOpen(m, rnd);
+            MazeFixtures.setEndpoints(m, starts[i], exits[i]);
+            if (i < pairs / 2) budget += JungleMazeGame.SolveCache.weight(JungleMazeGame.Solver.solve(m, JungleMazeGame.SolverType.ASTAR));
+        }
+        JungleMazeGame.SolveCache cache = new JungleMazeGame.SolveCache(budget);
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < pairs; i++) {
+                MazeFixtures.setEndpoints(m, starts[i], exits[i]);
+                JungleMazeGame.SolveResult r = cache.solve(m, JungleMazeGame.SolverType.ASTAR);
+                assertEquals(JungleMazeGame.Solver.solve(m, JungleMazeGame.SolverType.ASTAR).totalWeight, r.totalWeight, "pair " + i);
+                assertTrue(cache.bytes <= budget, "over budget: " + cache.stats());
+            }
+        }
+        assertTrue(cache.evictions > 0, "budget for half the results but nothing evicted: " + cache.stats());
+
+        MazeFixtures.setEndpoints(m, starts[0], exits[0]);
+        JungleMazeGame.SolveResult first = cache.solve(m, JungleMazeGame.SolverType.ASTAR);
+        long hits = cache.hits;
+        assertSame(first, cache.solve(m, JungleMazeGame.SolverType.ASTAR));
+        assertEquals(hits + 1, cache.hits);
+    }
+
+    @Test
+    void noHitsAfterTheGridChanges() {
+        JungleMazeGame.Maze m = MazeFixtures.maze(61, 10, 0.1);
+        JungleMazeGame.SolveCache cache = new JungleMazeGame.SolveCache(64L << 20);
+        SplittableRandom rnd = new SplittableRandom(10);
+        int pairs = 16;
+        int[] starts = new int[pairs], exits = new int[pairs];
+        for (int i = 0; i < pairs; i++) {
+            starts[i] = MazeFixtures.randomOpen(m, rnd);
+            exits[i] = MazeFixtures.randomOpen(m, rnd);
+            MazeFixtures.setEndpoints(m, starts[i], exits[i]);
+            cache.solve(m, JungleMazeGame.SolverType.ASTAR);
+        }
+        m.openRandomWalls(0.01);
+        for (int i = 0; i < pairs; i++) {
+            MazeFixtures.setEndpoints(m, starts[i], exits[i]);
+            assertNull(cache.get(m, JungleMazeGame.SolverType.ASTAR), "stale hit for pair " + i + " after openRandomWalls");
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/* SolverTest.java
+ * Every SolverType against the reference solvers: BFS for the path length of the
+ * unweighted searches, DIJKSTRA for the weight of the weighted ones.
+ */
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class SolverTest {
+
+    // shortest in moves; everything else but DFS is shortest in weight
+    static final EnumSet<JungleMazeGame.SolverType> UNWEIGHTED = EnumSet.of(
+            JungleMazeGame.SolverType.BFS, JungleMazeGame.SolverType.BIDI_BFS,
+            JungleMazeGame.SolverType.CORRIDOR);
+
+    @ParameterizedTest
+    @EnumSource(JungleMazeGame.SolverType.class)
+    void matchesReferenceSolvers(JungleMazeGame.SolverType type) {
+        for (long seed : MazeFixtures.SEEDS) for (int size : MazeFixtures.SIZES) for (double loops : MazeFixtures.LOOPS) {
+            JungleMazeGame.Maze m = MazeFixtures.maze(size, seed, loops);
+            JungleMazeGame.SolveResult bfs = JungleMazeGame.Solver.solve(m, JungleMazeGame.SolverType.BFS);
+            JungleMazeGame.SolveResult dijkstra = JungleMazeGame.Solver.solve(m, JungleMazeGame.SolverType.DIJKSTRA);
+            JungleMazeGame.SolveResult r = JungleMazeGame.Solver.solve(m, type);
+            String where = type + " on " + MazeFixtures.describe(m) + ", loops " + loops;
+
+            assertTrue(bfs.found, where + ": reference found no path");
+            assertTrue(r.found, where + ": no path");
+            assertTrue(r.steps > 0, where + ": no expansions counted");
+            MazeFixtures.assertPath(m, r);
+            if (loops == 0.0) {
+                // a perfect maze has exactly one path
+                assertArrayEquals(bfs.path, r.path, where + ": path differs in a perfect maze");
+            }
+            if (UNWEIGHTED.contains(type)) {
+                assertEquals(bfs.shortestPathSteps, r.shortestPathSteps, where + ": path steps vs BFS");
+            } else if (type != JungleMazeGame.SolverType.DFS) {
+                assertEquals(dijkstra.totalWeight, r.totalWeight, where + ": weight vs DIJKSTRA");
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(JungleMazeGame.SolverType.class)
+    void reportsNoPathWhenExitIsWalledOff(JungleMazeGame.SolverType type) {
+        JungleMazeGame.Maze m = MazeFixtures.maze(21, 1, 0.0);
+        for (int[] d : JungleMazeGame.Maze.DIRS4) {
+            int r = m.exitR + d[0], c = m.exitC + d[1];
+            if (m.inBounds(r, c)) m.setState(r, c, JungleMazeGame.Maze.WALL);
+        }
+        JungleMazeGame.SolveResult res = JungleMazeGame.Solver.solve(m, type);
+        assertFalse(res.found, type + " found a path to a walled-off exit");
+        assertEquals(0, res.path.length, type + ": path without a solution");
+    }
+
+    // one junction graph per layout: every endpoint pair is hooked on, none rebuilds it
+    @Test
+    void corridorGraphServesEveryEndpointPair() {
+        for (double loops : MazeFixtures.LOOPS) {
+            JungleMazeGame.Maze m = MazeFixtures.maze(61, 7, loops);
+            JungleMazeGame.CorridorGraph g = m.corridorGraph();
+            SplittableRandom rnd = new SplittableRandom(7);
+            for (int q = 0; q < 200; q++) {
+                int a = MazeFixtures.randomOpen(m, rnd), b = MazeFixtures.randomOpen(m, rnd);
+                if (a == b) continue;
+                MazeFixtures.setEndpoints(m, a, b);
+                JungleMazeGame.SolveResult bfs = JungleMazeGame.Solver.solve(m, JungleMazeGame.SolverType.BFS);
+                JungleMazeGame.SolveResult dijkstra = JungleMazeGame.Solver.solve(m, JungleMazeGame.SolverType.DIJKSTRA);
+                JungleMazeGame.SolveResult moves = JungleMazeGame.Solver.solve(m, JungleMazeGame.SolverType.CORRIDOR);
+                JungleMazeGame.SolveResult cost = JungleMazeGame.Solver.solve(m, JungleMazeGame.SolverType.CORRIDOR_DIJKSTRA);
+                String where = "loops " + loops + ", " + a + " -> " + b;
+                assertSame(g, m.corridorGraph(), where + ": graph rebuilt");
+                assertEquals(bfs.found, moves.found, where);
+                assertEquals(bfs.found, cost.found, where);
+                if (!bfs.found) continue;
+                MazeFixtures.assertPath(m, moves);
+                MazeFixtures.assertPath(m, cost);
+                assertEquals(bfs.shortestPathSteps, moves.shortestPathSteps, where + ": path steps vs BFS");
+                assertEquals(dijkstra.totalWeight, cost.totalWeight, where + ": weight vs DIJKSTRA");
+            }
+        }
+    }
+
+    // IndexedMinHeap pops equal keys in heap order, not in the order the original
+    // PriorityQueue solver did, so among equal-weight paths it may pick another one and
+    // expand a different number of cells. These are the counts it gives today; a change
+    // here is a behaviour change and should be deliberate.
+    @Test
+    void heapTieBreakingIsPinned() {
+        Object[][] pinned = {
+                {1L, JungleMazeGame.SolverType.DIJKSTRA, 782, 1964932905},
+                {1L, JungleMazeGame.SolverType.ASTAR, 321, 1778700713},
+                {2L, JungleMazeGame.SolverType.DIJKSTRA, 683, -901240420},
+                {2L, JungleMazeGame.SolverType.ASTAR, 430, -901240420},
+        };
+        for (Object[] p : pinned) {
+            JungleMazeGame.Maze m = MazeFixtures.maze(41, (Long) p[0], 0.1);
+            JungleMazeGame.SolveResult r = JungleMazeGame.Solver.solve(m, (JungleMazeGame.SolverType) p[1]);
+            String where = p[1] + " on " + MazeFixtures.describe(m);
+            assertEquals(p[2], r.steps, where + ": expansions");
+            assertEquals(p[3], Arrays.hashCode(r.path), where + ": path");
+        }
+    }
+
+    // marking solvers only read the maze, so every type can run at once on one maze
+    @Test
+    void markingSolversRunSideBySide() throws Exception {
+        JungleMazeGame.Maze m = MazeFixtures.maze(61, 8, 0.1);
+        byte[] before = m.cells.clone();
+        JungleMazeGame.SolverType[] types = JungleMazeGame.SolverType.values();
+        List<Callable<JungleMazeGame.Solver>> jobs = new ArrayList<>();
+        for (JungleMazeGame.SolverType t : types) {
+            jobs.add(() -> {
+                JungleMazeGame.Solver s = new JungleMazeGame.Solver(m, t, true, false);
+                while (!s.step()) s.dirty.clear();
+                return s;
+            });
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<Future<JungleMazeGame.Solver>> done = pool.invokeAll(jobs);
+            for (int i = 0; i < types.length; i++) {
+                JungleMazeGame.Solver s = done.get(i).get();
+                JungleMazeGame.SolveResult ref = JungleMazeGame.Solver.solve(m, types[i]);
+                assertEquals(ref.totalWeight, s.totalWeight, types[i] + ": weight");
+                assertArrayEquals(ref.path, s.path, types[i] + ": path");
+                for (int id : s.path) {
+                    int st = m.state(id);
+                    if (st == JungleMazeGame.Maze.START || st == JungleMazeGame.Maze.EXIT) continue;
+                    assertEquals(JungleMazeGame.Maze.SOLUTION, s.overlay.mark(id), types[i] + ": path cell " + id + " not marked");
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertArrayEquals(before, m.cells, "a solver wrote into the maze");
+    }
+
+    // delta-stepping relaxes in parallel once a bucket passes CHUNK cells: the weight must
+    // not depend on the pool, on corridors or on a grid open enough to split its buckets
+    @Test
+    void deltaSteppingMatchesDijkstraOnAnyPool() {
+        for (boolean open : new boolean[] {false, true}) {
+            JungleMazeGame.Maze m = MazeFixtures.maze(301, 5, 0.1);
+            if (open) {
+                for (int id = 0; id < m.size * m.size; id++) {
+                    if (m.state(id) == JungleMazeGame.Maze.WALL && id % 7 != 0) m.setState(id, JungleMazeGame.Maze.PATH);
+                }
+            }
+            double ref = JungleMazeGame.Solver.solve(m, JungleMazeGame.SolverType.DIJKSTRA).totalWeight;
+            for (int threads : new int[] {1, 2, 4}) {
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                try {
+                    JungleMazeGame.DeltaStepping ds = new JungleMazeGame.DeltaStepping(m, m.id(m.startR, m.startC),
+                            m.id(m.exitR, m.exitC), JungleMazeGame.DeltaStepping.DEFAULT_DELTA, pool);
+                    while (!ds.drainBucket(null)) { }
+                    // totalWeight counts the start's own cost, dist does not
+                    assertEquals(ref, ds.dist.get(ds.target) + m.cost(ds.source), (open ? "open grid" : "maze") + ", " + threads + " threads");
+                } finally {
+                    pool.shutdown();
+                }
+            }
+        }
+    }
+
+    // BitBfs.flood against a plain BFS: same component, and connected() agrees with it
+    @Test
+    void floodFindsTheReachableCells() {
+        for (long seed : MazeFixtures.SEEDS) for (double loops : MazeFixtures.LOOPS) {
+            JungleMazeGame.Maze m = MazeFixtures.maze(61, seed, loops);
+            int source = m.id(m.startR, m.startC);
+            long[] seen = JungleMazeGame.BitBfs.flood(m, source, -1);
+            int reached = 0;
+            for (long w : seen) reached += Long.bitCount(w);
+            String where = MazeFixtures.describe(m) + ", loops " + loops;
+            assertEquals(MazeFixtures.reachable(m, source), reached, where + ": flooded cells");
+            assertTrue(m.connected(source, m.id(m.exitR, m.exitC)), where + ": exit not connected");
+
+            for (int[] d : JungleMazeGame.Maze.DIRS4) {
+                int r = m.exitR + d[0], c = m.exitC + d[1];
+                if (m.inBounds(r, c)) m.setState(r, c, JungleMazeGame.Maze.WALL);
+            }
+            assertFalse(m.connected(source, m.id(m.exitR, m.exitC)), where + ": walled-off exit still connected");
+        }
+    }
+}
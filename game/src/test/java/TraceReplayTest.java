@@ -0,0 +1,89 @@
+/* TraceReplayTest.java
+ * Recorded solves replayed through TraceReplay: any seek, forward or back, must leave the
+ * overlay exactly as a fresh forward replay to the same position would.
+ */
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class TraceReplayTest {
+
+    static byte[] replayedTo(JungleMazeGame.Maze m, JungleMazeGame.SolveTrace trace, int pos) {
+        JungleMazeGame.TraceReplay fresh = new JungleMazeGame.TraceReplay(m, trace);
+        fresh.seek(pos);
+        return fresh.overlay.marks;
+    }
+
+    @ParameterizedTest
+    @EnumSource(JungleMazeGame.SolverType.class)
+    void seekBackToStartClearsEverything(JungleMazeGame.SolverType type) {
+        for (long seed : MazeFixtures.SEEDS) for (double loops : MazeFixtures.LOOPS) {
+            JungleMazeGame.Maze m = MazeFixtures.maze(41, seed, loops);
+            JungleMazeGame.TraceReplay rp = new JungleMazeGame.TraceReplay(m, JungleMazeGame.SolveTrace.record(m, type));
+            rp.seek(rp.length());
+            assertTrue(rp.atEnd());
+            rp.seek(0);
+            assertArrayEquals(new byte[m.size * m.size], rp.overlay.marks,
+                    type + " on " + MazeFixtures.describe(m) + ", loops " + loops + ": marks left after seek(0)");
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(JungleMazeGame.SolverType.class)
+    void randomSeeksMatchFreshReplay(JungleMazeGame.SolverType type) {
+        for (long seed : MazeFixtures.SEEDS) {
+            JungleMazeGame.Maze m = MazeFixtures.maze(41, seed, 0.1);
+            JungleMazeGame.SolveTrace trace = JungleMazeGame.SolveTrace.record(m, type);
+            JungleMazeGame.TraceReplay rp = new JungleMazeGame.TraceReplay(m, trace);
+            SplittableRandom rnd = new SplittableRandom(seed);
+            for (int k = 0; k < 20; k++) {
+                int pos = rnd.nextInt(rp.length() + 1);
+                rp.seek(pos);
+                assertArrayEquals(replayedTo(m, trace, pos), rp.overlay.marks,
+                        type + " on " + MazeFixtures.describe(m) + ": seek to " + pos);
+            }
+        }
+    }
+
+    // what the panel reads is a snapshot: later seeks must not reach it
+    @ParameterizedTest
+    @EnumSource(JungleMazeGame.SolverType.class)
+    void publishedOverlayIsFrozen(JungleMazeGame.SolverType type) {
+        JungleMazeGame.Maze m = MazeFixtures.maze(41, 5, 0.1);
+        JungleMazeGame.TraceReplay rp = new JungleMazeGame.TraceReplay(m, JungleMazeGame.SolveTrace.record(m, type));
+        rp.seek(rp.length() / 2);
+        rp.publish();
+        JungleMazeGame.Overlay shown = m.overlay();
+        byte[] before = shown.marks.clone();
+        assertArrayEquals(rp.overlay.marks, before, type + ": snapshot differs from the replay");
+        rp.seek(rp.length());
+        assertArrayEquals(before, shown.marks, type + ": published overlay changed by a later seek");
+        rp.publish();
+        assertTrue(shown.precedes(m.overlay()), type + ": next snapshot does not follow the last");
+    }
+
+    @ParameterizedTest
+    @EnumSource(JungleMazeGame.SolverType.class)
+    void traceSurvivesWriteAndRead(JungleMazeGame.SolverType type) throws IOException {
+        JungleMazeGame.Maze m = MazeFixtures.maze(61, 3, 0.1);
+        JungleMazeGame.SolveTrace trace = JungleMazeGame.SolveTrace.record(m, type);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        trace.write(bytes);
+        JungleMazeGame.SolveTrace back = JungleMazeGame.SolveTrace.read(new ByteArrayInputStream(bytes.toByteArray()));
+
+        assertEquals(trace.type, back.type);
+        assertEquals(trace.size, back.size);
+        assertEquals(trace.found, back.found);
+        assertEquals(trace.totalWeight, back.totalWeight);
+        assertEquals(trace.steps, back.steps);
+        assertArrayEquals(trace.path, back.path);
+        assertArrayEquals(replayedTo(m, trace, trace.steps), replayedTo(m, back, back.steps));
+    }
+}
@@ -17,11 +17,27 @@ import java.awt.*;
 import java.awt.event.*;
 import java.awt.geom.*;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 import java.io.*;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
 import javax.sound.sampled.*;
 import javax.swing.Timer;
 
@@ -36,9 +52,11 @@ public class JungleMazeGame extends JFrame {
 
     private final int BLOCK_SIZE = 22;
     private final int DEFAULT_MAZE_SIZE = 21; // odd recommended
+    private final int MAX_MAZE_SIZE = 4001;
 
     private Maze maze;
     private MazePanel mazePanel;
+    private JScrollPane mazeScroll;
     private ControlPanel controlPanel;
 
     // SOUND: backsound + bubble loop + confetti clip
@@ -56,11 +74,17 @@ public class JungleMazeGame extends JFrame {
         mazePanel = new MazePanel(maze, BLOCK_SIZE);
         controlPanel = new ControlPanel();
 
-        add(mazePanel, BorderLayout.CENTER);
+        // scrollable view; Ctrl + mouse wheel zooms (see MazePanel.zoomAt)
+        mazeScroll = new JScrollPane(mazePanel);
+        mazeScroll.getViewport().setBackground(mazePanel.getBackground());
+        mazeScroll.getVerticalScrollBar().setUnitIncrement(16);
+        mazeScroll.getHorizontalScrollBar().setUnitIncrement(16);
+
+        add(mazeScroll, BorderLayout.CENTER);
         add(controlPanel, BorderLayout.EAST);
         pack();
         setLocationRelativeTo(null);
-        setResizable(false);
+        setResizable(true);
 
         // preload the SFX (non-blocking, errors printed to console)
         backsoundClip = loadClipFlexible("backsound01.wav");
@@ -195,10 +219,24 @@ public class JungleMazeGame extends JFrame {
        =========================== */
     static class Maze {
         final int size;                 // grid is size x size (odd preferred)
-        int[][] state;                  // WALL, PATH, EXPLORED, SOLUTION, START, EXIT
-        int[][] terrain;                // TERR_DEFAULT, TERR_GRASS, TERR_MUD, TERR_WATER (only for non-WALL)
+        // one byte per cell at r*size+c: bits 0-2 state (WALL, PATH, START, EXIT),
+        // bits 3-4 terrain (TERR_DEFAULT..TERR_WATER, only meaningful for non-WALL).
+        // EXPLORED/SOLUTION live in a per-solve Overlay, so solvers only ever read cells.
+        byte[] cells;
+        int layoutVersion;              // bumped whenever walls or terrain change (render caches key on it)
+        // marks of the solve on display: an Overlay snapshot, replaced whole and never edited
+        final AtomicReference<Overlay> shown = new AtomicReference<>();
         int startR, startC, exitR, exitC;
-        Random rnd = new Random();
+        final long seed;                // same seed + same calls => same maze
+        int generator = GEN_NONE;       // last generate*() run, recorded in maze files
+
+        // generator codes
+        static final int GEN_NONE = 0;
+        static final int GEN_PRIM = 1;
+        static final int GEN_KRUSKAL = 2;
+        static final int GEN_ELLER = 3;
+        static final int GEN_TILED_PRIM = 4;
+        static final int GEN_TILED_KRUSKAL = 5;
 
         // state codes
         static final int WALL = 1;
@@ -216,12 +254,19 @@ public class JungleMazeGame extends JFrame {
 
         // terrain weights (integers)
         static double terrainWeight(int t) {
+            return terrainCost(t);
+        }
+
+        static final int MAX_TERRAIN_COST = 10;
+
+        // integer form used by the solvers (dist arrays are int[])
+        static int terrainCost(int t) {
             switch (t) {
-                case TERR_GRASS: return 1.0;
-                case TERR_MUD: return 5.0;
-                case TERR_WATER: return 10.0;
+                case TERR_GRASS: return 1;
+                case TERR_MUD: return 5;
+                case TERR_WATER: return 10;
                 case TERR_DEFAULT:
-                default: return 1.0; // DEFAULT = 1 (integer)
+                default: return 1; // DEFAULT = 1 (integer)
             }
         }
 
@@ -235,160 +280,460 @@ public class JungleMazeGame extends JFrame {
         static final int[][] DIRS4 = {{-1,0},{1,0},{0,-1},{0,1}};
 
         Maze(int size) {
+            this(size, new SplittableRandom().nextLong());
+        }
+
+        Maze(int size, long seed) {
             this.size = size % 2 == 1 ? size : size + 1;
+            this.seed = seed;
             initGrid();
         }
 
+        // no grid allocated: for subclasses that keep cells elsewhere (MazeFile.MappedMaze)
+        Maze(int size, long seed, boolean allocate) {
+            this.size = size;
+            this.seed = seed;
+            if (allocate) initGrid();
+            else startR = startC = exitR = exitC = -1;
+        }
+
+        /* ---------- Seeded random streams ---------- */
+
+        // Every randomized phase draws from its own SplittableRandom, split from the seed in a
+        // fixed order. Phases never share a stream, so how many numbers one phase consumes
+        // (or whether it runs at all) cannot change what another phase produces.
+        static final int PHASE_LAYOUT = 0;      // generators (walls/passages)
+        static final int PHASE_TERRAIN = 1;     // assignTerrains
+        static final int PHASE_ENDPOINTS = 2;   // placeStartAndExit
+        static final int PHASE_EXTRA_WAYS = 3;  // createExtraWays
+        static final int PHASE_LOOPS = 4;       // openRandomWalls
+
+        SplittableRandom phaseRandom(int phase) {
+            SplittableRandom root = new SplittableRandom(seed);
+            SplittableRandom g = root.split();
+            for (int i=0;i<phase;i++) g = root.split();
+            return g;
+        }
+
         void initGrid() {
-            state = new int[size][size];
-            terrain = new int[size][size];
-            for (int r=0;r<size;r++) {
-                Arrays.fill(state[r], WALL);
-                Arrays.fill(terrain[r], TERR_DEFAULT);
-            }
+            cells = new byte[size * size];
+            Arrays.fill(cells, (byte) (WALL | TERR_DEFAULT << TERRAIN_SHIFT));
+            layoutVersion++;
+            fingerprinted = false;
             startR = startC = exitR = exitC = -1;
         }
 
-        void clearMarks() {
-            for (int r=0;r<size;r++) {
-                for (int c=0;c<size;c++) {
-                    if (state[r][c] == EXPLORED || state[r][c] == SOLUTION) {
-                        state[r][c] = PATH;
-                    }
-                }
+        /* ---------- Cell accessors (packed grid) ---------- */
+
+        static final int STATE_MASK = 0x07;
+        static final int TERRAIN_SHIFT = 3;
+        static final int TERRAIN_MASK = 0x03 << TERRAIN_SHIFT;
+
+        int id(int r, int c) { return r * size + c; }
+
+        int state(int r, int c) { return cells[r * size + c] & STATE_MASK; }
+        int state(int id) { return cells[id] & STATE_MASK; }
+        int terrain(int r, int c) { return (cells[r * size + c] & TERRAIN_MASK) >> TERRAIN_SHIFT; }
+        int terrain(int id) { return (cells[id] & TERRAIN_MASK) >> TERRAIN_SHIFT; }
+
+        boolean isOpen(int id) { return (cells[id] & STATE_MASK) != WALL; }
+        int cost(int id) { return terrainCost(terrain(id)); }
+        // state | terrain << TERRAIN_SHIFT, the packed byte; readers outside Maze use this, not `cells`
+        int code(int id) { return cells[id]; }
+
+        void setState(int r, int c, int st) { setState(r * size + c, st); }
+        void setState(int id, int st) {
+            int old = cells[id];
+            if (((old & STATE_MASK) == WALL) != (st == WALL)) {
+                layoutVersion++;
+                if (fingerprinted) fingerprint ^= cellHash(id, layoutCode(id)) ^ cellHash(id, st == WALL ? 0 : 1 + terrain(id));
+            }
+            cells[id] = (byte) ((old & ~STATE_MASK) | st);
+        }
+        void setTerrain(int r, int c, int t) { setTerrain(r * size + c, t); }
+        void setTerrain(int id, int t) {
+            if (fingerprinted && isOpen(id)) fingerprint ^= cellHash(id, 1 + terrain(id)) ^ cellHash(id, 1 + t);
+            cells[id] = (byte) ((cells[id] & ~TERRAIN_MASK) | t << TERRAIN_SHIFT);
+            layoutVersion++;
+        }
+
+        // Raw writes for generators: no layoutVersion or fingerprint bookkeeping, so tile
+        // workers can fill disjoint regions concurrently. Callers finish with layoutChanged().
+        void putState(int r, int c, int st) {
+            int id = r * size + c;
+            cells[id] = (byte) ((cells[id] & ~STATE_MASK) | st);
+        }
+        void putTerrain(int r, int c, int t) {
+            int id = r * size + c;
+            cells[id] = (byte) ((cells[id] & ~TERRAIN_MASK) | t << TERRAIN_SHIFT);
+        }
+        void layoutChanged() {
+            layoutVersion++;
+            fingerprinted = false;
+        }
+
+        /* ---------- Fingerprint (SolveCache key) ---------- */
+
+        long fingerprint;
+        boolean fingerprinted;          // fingerprint is current; off until first asked for
+
+        // XOR of cellHash(id, layoutCode(id)) over the grid: walls and terrain only, not marks
+        // or START/EXIT. Computed in full on first use, then patched by setState/setTerrain,
+        // so generators pay nothing and later edits (openRandomWalls, createExtraWays) O(1) each.
+        // Patched in place rather than rebuilt, so it cannot sit in a LayoutCache; the first
+        // computation takes the maze lock instead (edits never overlap with solving).
+        synchronized long fingerprint() {
+            if (!fingerprinted) {
+                long h = 0;
+                for (int id=0;id<size*size;id++) h ^= cellHash(id, layoutCode(id));
+                fingerprint = h;
+                fingerprinted = true;
             }
-            if (startR>=0) state[startR][startC] = START;
-            if (exitR>=0) state[exitR][exitC] = EXIT;
+            return fingerprint;
+        }
+
+        // 0 = wall, 1 + terrain for open cells (terrain under a wall never matters)
+        int layoutCode(int id) { return isOpen(id) ? 1 + terrain(id) : 0; }
+
+        static long cellHash(int id, int code) {
+            long z = (id * 5L + code) * 0x9E3779B97F4A7C15L;     // splitmix64 finalizer
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
         }
 
+        Overlay overlay() { return shown.get(); }
+        void publish(Overlay o) { shown.set(o); }
+        void clearMarks() { shown.set(null); }
+
         boolean inBounds(int r, int c) {
             return r >= 0 && r < size && c >= 0 && c < size;
         }
 
+        final LayoutCache<byte[]> bordered = new LayoutCache<>(this, Maze::buildBordered);
+
+        // Open flags (1 = open) on a (size+2)^2 grid with a one-cell wall border, so the flat
+        // neighbour offsets -w, +w, -1, +1 (w = size+2) never leave it. Rebuilt when walls change.
+        byte[] bordered() { return bordered.get(); }
+
+        static byte[] buildBordered(Maze m) {
+            int w = m.size + 2;
+            byte[] b = new byte[w * w];
+            for (int r=0;r<m.size;r++) {
+                for (int c=0;c<m.size;c++) if (m.isOpen(r * m.size + c)) b[(r + 1) * w + c + 1] = 1;
+            }
+            return b;
+        }
+
+        final LayoutCache<long[]> openBits = new LayoutCache<>(this, Maze::buildOpenBits);
+
+        // Open cells as a bitset for BitBfs: bit c%64 of word r*W + c/64, W = (size+63)/64 words
+        // per row, so a row never shares a word with the next. Rebuilt when walls change.
+        long[] openBits() { return openBits.get(); }
+
+        static long[] buildOpenBits(Maze m) {
+            int words = (m.size + 63) >>> 6;
+            long[] b = new long[m.size * words];
+            for (int r=0;r<m.size;r++) {
+                for (int c=0;c<m.size;c++) if (m.isOpen(r * m.size + c)) b[r * words + (c >>> 6)] |= 1L << c;
+            }
+            return b;
+        }
+
+        // Whether a and b are in the same open component (BitBfs.flood, stops once b is seen).
+        boolean connected(int a, int b) {
+            return BitBfs.flood(this, a, b) != null;
+        }
+
+        // cache for flowField(): most recently used first, at most FlowField.CACHED per maze
+        final List<FlowField> flowFields = new ArrayList<>();
+
+        // Distance/direction field towards `targets` for the current layout, cached per target set.
+        synchronized FlowField flowField(int... targets) {
+            for (int i=0;i<flowFields.size();i++) {
+                FlowField f = flowFields.get(i);
+                if (f.matches(this, targets)) {
+                    if (i > 0) flowFields.add(0, flowFields.remove(i));
+                    return f;
+                }
+            }
+            FlowField f = new FlowField(this, targets);
+            flowFields.removeIf(old -> !old.matches(this, old.targets));
+            if (flowFields.size() == FlowField.CACHED) flowFields.remove(FlowField.CACHED - 1);
+            flowFields.add(0, f);
+            return f;
+        }
+
+        FlowField flowFieldToExit() { return flowField(id(exitR, exitC)); }
+
+        final LayoutCache<CorridorGraph> corridors = new LayoutCache<>(this, CorridorGraph::new);
+
+        // Junction graph for the current layout, shared by every start/exit pair.
+        CorridorGraph corridorGraph() { return corridors.get(); }
+
+        final LayoutCache<Landmarks> landmarks =
+                new LayoutCache<>(this, m -> new Landmarks(m, Landmarks.DEFAULT_COUNT, ForkJoinPool.commonPool()));
+
+        // ALT landmarks for the current layout (Landmarks.DEFAULT_COUNT of them, built on
+        // the common pool), rebuilt only when walls or terrain change. The pool workers only
+        // read the grid, so holding the cache lock while they run cannot deadlock.
+        Landmarks landmarks() { return landmarks.get(); }
+
         /* ---------- Generators ---------- */
 
+        // Randomized Prim. The frontier is an int list of wall cell ids with O(1) swap-remove,
+        // and a bitset marks cells already queued, so the whole run is linear in cell count.
         void generatePrim() {
             initGrid();
-            int sr = 1, sc = 1;
-            state[sr][sc] = PATH;
-            List<int[]> walls = new ArrayList<>();
-            addWalls(sr, sc, walls);
-            while (!walls.isEmpty()) {
-                int idx = rnd.nextInt(walls.size());
-                int[] w = walls.remove(idx);
-                int wr = w[0], wc = w[1];
+            primRegion(0, 0, size-1, size-1, phaseRandom(PHASE_LAYOUT));
+            assignTerrains();
+            generator = GEN_PRIM;
+        }
+
+        // Prim confined to the cell rectangle [r0..r1] x [c0..c1]; cells outside are never read
+        // or written, so disjoint rectangles can be generated concurrently (see generateTiled).
+        void primRegion(int r0, int c0, int r1, int c1, RandomGenerator g) {
+            int rw = c1 - c0 + 1;
+            int sr = r0 | 1, sc = c0 | 1;
+            putState(sr,sc, PATH);
+            IntList frontier = new IntList(256);
+            long[] inFrontier = new long[((r1 - r0 + 1) * rw + 63) >>> 6];
+            addWalls(sr, sc, r0, c0, r1, c1, frontier, inFrontier);
+            while (frontier.size > 0) {
+                int w = frontier.swapRemove(g.nextInt(frontier.size));
+                int wr = w / size, wc = w % size;
+                int bit = (wr - r0) * rw + (wc - c0);
+                inFrontier[bit >>> 6] &= ~(1L << bit);
 
                 int pathCount = 0;
                 int pr=-1, pc=-1;
                 for (int[] d : DIRS4) {
                     int nr = wr + d[0], nc = wc + d[1];
-                    if (inBounds(nr,nc) && state[nr][nc] == PATH) {
+                    if (inRect(nr,nc, r0,c0,r1,c1) && state(nr,nc) == PATH) {
                         pathCount++; pr = nr; pc = nc;
                     }
                 }
                 if (pathCount == 1) {
-                    state[wr][wc] = PATH;
+                    putState(wr,wc, PATH);
                     int beyondR = wr + (wr - pr);
                     int beyondC = wc + (wc - pc);
-                    if (inBounds(beyondR,beyondC) && state[beyondR][beyondC] == WALL) {
-                        state[beyondR][beyondC] = PATH;
-                        addWalls(beyondR, beyondC, walls);
+                    if (inRect(beyondR,beyondC, r0,c0,r1,c1) && state(beyondR,beyondC) == WALL) {
+                        putState(beyondR,beyondC, PATH);
+                        addWalls(beyondR, beyondC, r0, c0, r1, c1, frontier, inFrontier);
                     }
                 }
             }
-            assignTerrains();
         }
 
-        void addWalls(int r, int c, List<int[]> walls) {
+        void addWalls(int r, int c, int r0, int c0, int r1, int c1, IntList frontier, long[] inFrontier) {
+            int rw = c1 - c0 + 1;
             for (int[] d : DIRS4) {
                 int wr = r + d[0], wc = c + d[1];
-                if (inBounds(wr,wc) && state[wr][wc] == WALL) {
-                    boolean already=false;
-                    for (int[] ex : walls) if (ex[0]==wr && ex[1]==wc) { already=true; break; }
-                    if (!already) walls.add(new int[]{wr,wc});
+                if (inRect(wr,wc, r0,c0,r1,c1) && state(wr,wc) == WALL) {
+                    int bit = (wr - r0) * rw + (wc - c0);
+                    if ((inFrontier[bit >>> 6] & (1L << bit)) != 0) continue;
+                    inFrontier[bit >>> 6] |= 1L << bit;
+                    frontier.add(wr * size + wc);
                 }
             }
         }
 
+        static boolean inRect(int r, int c, int r0, int c0, int r1, int c1) {
+            return r >= r0 && r <= r1 && c >= c0 && c <= c1;
+        }
+
+        // Randomized Kruskal over the odd (room) cells only. Room k sits at
+        // (2*(k/w)+1, 2*(k%w)+1); an edge is packed as k*2+dir (dir 0 = east, 1 = south),
+        // so the edge list is one int[] shuffled in place and union-find is sized w*w.
         void generateKruskal() {
             initGrid();
-            for (int r=1;r<size; r+=2) for (int c=1;c<size; c+=2) state[r][c] = PATH;
-            List<Wall> walls = new ArrayList<>();
-            for (int r=1;r<size;r+=2) for (int c=1;c<size;c+=2) {
-                if (c+2 < size) walls.add(new Wall(r,c,r,c+2,r,c+1));
-                if (r+2 < size) walls.add(new Wall(r,c,r+2,c,r+1,c));
-            }
-            Collections.shuffle(walls, rnd);
-            UnionFind uf = new UnionFind(size*size);
-            for (Wall w : walls) {
-                int id1 = w.r1*size + w.c1;
-                int id2 = w.r2*size + w.c2;
-                if (!uf.same(id1,id2)) {
-                    uf.union(id1,id2);
-                    state[w.wr][w.wc] = PATH;
+            kruskalRegion(1, 1, size-2, size-2, phaseRandom(PHASE_LAYOUT));
+            assignTerrains();
+            generator = GEN_KRUSKAL;
+        }
+
+        // Kruskal over the rooms of [r0..r1] x [c0..c1] (corners are rooms, i.e. odd)
+        void kruskalRegion(int r0, int c0, int r1, int c1, RandomGenerator g) {
+            int w = (c1 - c0) / 2 + 1, h = (r1 - r0) / 2 + 1;   // rooms per row / column
+            for (int r=r0;r<=r1; r+=2) for (int c=c0;c<=c1; c+=2) putState(r,c, PATH);
+            int[] edges = new int[h * (w - 1) + (h - 1) * w];
+            int m = 0;
+            for (int k=0;k<w*h;k++) {
+                if (k % w + 1 < w) edges[m++] = k << 1;
+                if (k / w + 1 < h) edges[m++] = k << 1 | 1;
+            }
+            shuffle(edges, m, g);
+            UnionFind uf = new UnionFind(w * h);
+            for (int i=0;i<m;i++) {
+                int e = edges[i], k = e >>> 1;
+                boolean south = (e & 1) != 0;
+                if (uf.union(k, south ? k + w : k + 1)) {
+                    int r = r0 + 2 * (k / w), c = c0 + 2 * (k % w);
+                    if (south) putState(r + 1, c, PATH);
+                    else putState(r, c + 1, PATH);
+                }
+            }
+        }
+
+        /* ---------- Parallel tiled generation ---------- */
+
+        // Splits the rooms into roughly tileRooms x tileRooms tiles and generates each tile with
+        // primRegion/kruskalRegion on its own SplittableRandom in `pool`. Tiles are then joined by
+        // a random spanning tree over the tile grid, opening one boundary wall per tree edge:
+        // every tile is a perfect maze and the tile tree is acyclic, so the whole maze is perfect.
+        // Streams are split from the layout stream in tile order before forking, so the output
+        // only depends on the maze seed, never on thread scheduling.
+        void generateTiled(boolean kruskal, int tileRooms, ForkJoinPool pool) {
+            initGrid();
+            int w = size / 2;
+            int t = Math.max(1, Math.min(w, (w + tileRooms - 1) / tileRooms));  // tiles per side
+            int[] lo = new int[t + 1];                  // tile band i covers rooms lo[i]..lo[i+1]-1
+            for (int i=0;i<=t;i++) lo[i] = (int) ((long) i * w / t);
+
+            SplittableRandom root = phaseRandom(PHASE_LAYOUT);
+            List<Callable<Void>> jobs = new ArrayList<>();
+            for (int tr=0;tr<t;tr++) for (int tc=0;tc<t;tc++) {
+                int r0 = 2*lo[tr] + 1, r1 = 2*lo[tr+1] - 1;
+                int c0 = 2*lo[tc] + 1, c1 = 2*lo[tc+1] - 1;
+                SplittableRandom g = root.split();
+                jobs.add(() -> {
+                    if (kruskal) kruskalRegion(r0, c0, r1, c1, g);
+                    else primRegion(r0, c0, r1, c1, g);
+                    terrainRegion(r0, c0, r1, c1, g);
+                    return null;
+                });
+            }
+            try {
+                for (Future<Void> f : pool.invokeAll(jobs)) f.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("tiled generation interrupted", ex);
+            } catch (ExecutionException ex) {
+                throw new IllegalStateException("tile generation failed", ex.getCause());
+            }
+            layoutChanged();    // workers wrote cells raw; publish the new layout once, after the join
+
+            // stitch: Kruskal over the t x t tile grid, one opening per tree edge
+            SplittableRandom g = root.split();
+            int[] edges = new int[2 * t * t];
+            int m = 0;
+            for (int k=0;k<t*t;k++) {
+                if (k % t + 1 < t) edges[m++] = k << 1;
+                if (k / t + 1 < t) edges[m++] = k << 1 | 1;
+            }
+            shuffle(edges, m, g);
+            UnionFind uf = new UnionFind(t * t);
+            for (int i=0;i<m;i++) {
+                int e = edges[i], k = e >>> 1, tr = k / t, tc = k % t;
+                boolean south = (e & 1) != 0;
+                if (!uf.union(k, south ? k + t : k + 1)) continue;
+                int r, c;
+                if (south) {
+                    r = 2 * lo[tr+1];
+                    c = 2 * (lo[tc] + g.nextInt(lo[tc+1] - lo[tc])) + 1;
+                } else {
+                    r = 2 * (lo[tr] + g.nextInt(lo[tr+1] - lo[tr])) + 1;
+                    c = 2 * lo[tc+1];
                 }
+                setState(r,c, PATH);
+                setTerrain(r,c, randomTerrain(g));
+            }
+            generator = kruskal ? GEN_TILED_KRUSKAL : GEN_TILED_PRIM;
+        }
+
+        // Fisher-Yates over the first n entries
+        static void shuffle(int[] a, int n, RandomGenerator g) {
+            for (int i=n-1;i>0;i--) {
+                int j = g.nextInt(i + 1);
+                int t = a[i]; a[i] = a[j]; a[j] = t;
             }
-            assignTerrains();
         }
 
-        static class Wall { int r1,c1,r2,c2,wr,wc; Wall(int a,int b,int c,int d,int e,int f){r1=a;c1=b;r2=c;c2=d;wr=e;wc=f;} }
+        // iterative find (path halving) + union by rank: no recursion depth, ranks fit a byte
         static class UnionFind {
-            int[] p;
-            UnionFind(int n){ p = new int[n]; for (int i=0;i<n;i++) p[i]=i; }
-            int find(int a){ return p[a]==a ? a : (p[a]=find(p[a])); }
+            final int[] p;
+            final byte[] rank;
+            UnionFind(int n){ p = new int[n]; rank = new byte[n]; for (int i=0;i<n;i++) p[i]=i; }
+            int find(int a){
+                while (p[a] != a) { p[a] = p[p[a]]; a = p[a]; }
+                return a;
+            }
             boolean same(int a,int b){ return find(a)==find(b); }
-            void union(int a,int b){ a=find(a); b=find(b); if (a!=b) p[b]=a; }
+            // returns false when a and b were already connected
+            boolean union(int a,int b){
+                a=find(a); b=find(b);
+                if (a==b) return false;
+                if (rank[a] < rank[b]) { int t=a; a=b; b=t; }
+                p[b]=a;
+                if (rank[a] == rank[b]) rank[a]++;
+                return true;
+            }
+        }
+
+        // Eller's algorithm, filled row by row from the streaming generator below (layout only)
+        void generateEller() {
+            initGrid();
+            EllerGenerator gen = new EllerGenerator(size, size, phaseRandom(PHASE_LAYOUT), null);
+            for (int r=0; gen.hasNext(); r++) System.arraycopy(gen.next(), 0, cells, r * size, size);
+            assignTerrains();
+            generator = GEN_ELLER;
         }
 
         void placeStartAndExit() {
-            List<int[]> edges = new ArrayList<>();
+            IntList edges = new IntList(4 * size);
             for (int c=1; c<size-1; c+=2) {
-                if (state[1][c] == PATH) edges.add(new int[]{0,c});
-                if (state[size-2][c] == PATH) edges.add(new int[]{size-1,c});
+                if (state(1,c) == PATH) edges.add(id(0,c));
+                if (state(size-2,c) == PATH) edges.add(id(size-1,c));
             }
             for (int r=1; r<size-1; r+=2) {
-                if (state[r][1] == PATH) edges.add(new int[]{r,0});
-                if (state[r][size-2] == PATH) edges.add(new int[]{r,size-1});
+                if (state(r,1) == PATH) edges.add(id(r,0));
+                if (state(r,size-2) == PATH) edges.add(id(r,size-1));
             }
-            if (edges.size() < 2) {
+            if (edges.size < 2) {
                 startR = 1; startC = 1;
                 exitR = size-2; exitC = size-2;
             } else {
-                Collections.shuffle(edges, rnd);
-                int[] s = edges.get(0);
-                int[] e = edges.get(edges.size()-1);
-                startR = s[0]; startC = s[1];
-                exitR = e[0]; exitC = e[1];
+                shuffle(edges.a, edges.size, phaseRandom(PHASE_ENDPOINTS));
+                int s = edges.get(0);
+                int e = edges.get(edges.size-1);
+                startR = s / size; startC = s % size;
+                exitR = e / size; exitC = e % size;
             }
-            state[startR][startC] = START;
-            state[exitR][exitC] = EXIT;
-            if (terrain[startR][startC] == TERR_DEFAULT) terrain[startR][startC] = TERR_GRASS;
-            if (terrain[exitR][exitC] == TERR_DEFAULT) terrain[exitR][exitC] = TERR_GRASS;
+            setState(startR,startC, START);
+            setState(exitR,exitC, EXIT);
+            if (terrain(startR,startC) == TERR_DEFAULT) setTerrain(startR,startC, TERR_GRASS);
+            if (terrain(exitR,exitC) == TERR_DEFAULT) setTerrain(exitR,exitC, TERR_GRASS);
         }
 
         void openRandomWalls(double fraction) {
-            List<int[]> candidates = new ArrayList<>();
-            for (int r=1;r<size-1;r++) for (int c=1;c<size-1;c++) if (state[r][c] == WALL) candidates.add(new int[]{r,c});
-            Collections.shuffle(candidates, rnd);
-            int toOpen = (int)(candidates.size() * fraction);
+            SplittableRandom g = phaseRandom(PHASE_LOOPS);
+            IntList candidates = new IntList(1024);
+            for (int r=1;r<size-1;r++) for (int c=1;c<size-1;c++) if (state(r,c) == WALL) candidates.add(id(r,c));
+            shuffle(candidates.a, candidates.size, g);
+            int toOpen = (int)(candidates.size * fraction);
             for (int i=0;i<toOpen;i++) {
-                int[] p = candidates.get(i);
-                state[p[0]][p[1]] = PATH;
-                terrain[p[0]][p[1]] = randomTerrain();
+                int p = candidates.get(i);
+                setState(p, PATH);
+                setTerrain(p, randomTerrain(g));
             }
         }
 
         void assignTerrains() {
-            for (int r=0;r<size;r++) for (int c=0;c<size;c++) {
-                if (state[r][c] != WALL) terrain[r][c] = randomTerrain();
-                else terrain[r][c] = TERR_DEFAULT;
+            terrainRegion(0, 0, size-1, size-1, phaseRandom(PHASE_TERRAIN));
+            layoutChanged();
+        }
+
+        void terrainRegion(int r0, int c0, int r1, int c1, RandomGenerator g) {
+            for (int r=r0;r<=r1;r++) for (int c=c0;c<=c1;c++) {
+                if (state(r,c) != WALL) putTerrain(r,c, randomTerrain(g));
+                else putTerrain(r,c, TERR_DEFAULT);
             }
         }
 
         // current probabilities (you can change if needed)
         // DEFAULT 70%, GRASS 15%, MUD 9%, WATER 6%
-        int randomTerrain() {
-            double v = rnd.nextDouble();
+        static int randomTerrain(RandomGenerator g) {
+            double v = g.nextDouble();
             if (v < 0.70) return TERR_DEFAULT;    // 70% default (cream)
             if (v < 0.85) return TERR_GRASS;      // next 15% -> grass
             if (v < 0.94) return TERR_MUD;        // next 9% -> mud
@@ -402,60 +747,61 @@ public class JungleMazeGame extends JFrame {
          */
         void createExtraWays(int count) {
             if (count <= 0) return;
+            SplittableRandom g = phaseRandom(PHASE_EXTRA_WAYS);
             // collect candidate walls which sit between two PATH cells on opposite sides
-            List<int[]> candidates = new ArrayList<>();
+            IntList candidates = new IntList(256);
             for (int r = 1; r < size-1; r++) {
                 for (int c = 1; c < size-1; c++) {
-                    if (state[r][c] != WALL) continue;
+                    if (state(r,c) != WALL) continue;
                     // vertical pair?
-                    if (inBounds(r-1,c) && inBounds(r+1,c) && state[r-1][c] == PATH && state[r+1][c] == PATH) {
-                        candidates.add(new int[]{r,c});
+                    if (inBounds(r-1,c) && inBounds(r+1,c) && state(r-1,c) == PATH && state(r+1,c) == PATH) {
+                        candidates.add(id(r,c));
                         continue;
                     }
                     // horizontal pair?
-                    if (inBounds(r,c-1) && inBounds(r,c+1) && state[r][c-1] == PATH && state[r][c+1] == PATH) {
-                        candidates.add(new int[]{r,c});
+                    if (inBounds(r,c-1) && inBounds(r,c+1) && state(r,c-1) == PATH && state(r,c+1) == PATH) {
+                        candidates.add(id(r,c));
                         continue;
                     }
                 }
             }
             // shuffle so openings are random
-            Collections.shuffle(candidates, rnd);
+            shuffle(candidates.a, candidates.size, g);
             int opened = 0;
-            for (int i = 0; i < candidates.size() && opened < count; i++) {
-                int[] p = candidates.get(i);
-                int r = p[0], c = p[1];
+            for (int i = 0; i < candidates.size && opened < count; i++) {
+                int p = candidates.get(i);
+                int r = p / size, c = p % size;
                 // safety: don't open cell if it is the immediate neighbor of start/exit, to avoid replacing start/exit
                 if ((Math.abs(r - startR) + Math.abs(c - startC)) == 1) continue;
                 if ((Math.abs(r - exitR) + Math.abs(c - exitC)) == 1) continue;
                 // open it
-                state[r][c] = PATH;
-                terrain[r][c] = randomTerrain();
+                setState(r,c, PATH);
+                setTerrain(r,c, randomTerrain(g));
                 opened++;
             }
             // If couldn't open desired count (not enough clear candidates), try a second pass:
             if (opened < count) {
                 // find any wall adjacent to at least one PATH and open (less ideal, but increases connectivity)
-                List<int[]> secondary = new ArrayList<>();
+                IntList secondary = new IntList(256);
                 for (int r = 1; r < size-1; r++) {
                     for (int c = 1; c < size-1; c++) {
-                        if (state[r][c] != WALL) continue;
+                        if (state(r,c) != WALL) continue;
                         boolean adjPath = false;
                         for (int[] d : DIRS4) {
                             int nr = r + d[0], nc = c + d[1];
-                            if (inBounds(nr,nc) && state[nr][nc] == PATH) { adjPath = true; break; }
+                            if (inBounds(nr,nc) && state(nr,nc) == PATH) { adjPath = true; break; }
                         }
-                        if (adjPath) secondary.add(new int[]{r,c});
+                        if (adjPath) secondary.add(id(r,c));
                     }
                 }
-                Collections.shuffle(secondary, rnd);
-                for (int i=0; i<secondary.size() && opened < count; i++) {
-                    int[] p = secondary.get(i);
-                    int r = p[0], c = p[1];
+                shuffle(secondary.a, secondary.size, g);
+                for (int i=0; i<secondary.size && opened < count; i++) {
+                    int p = secondary.get(i);
+                    int r = p / size, c = p % size;
                     if ((Math.abs(r - startR) + Math.abs(c - startC)) == 1) continue;
                     if ((Math.abs(r - exitR) + Math.abs(c - exitC)) == 1) continue;
-                    state[r][c] = PATH;
-                    terrain[r][c] = randomTerrain();
+                    setState(r,c, PATH);
+                    setTerrain(r,c, randomTerrain(g));
                     opened++;
                 }
             }
@@ -463,17 +809,317 @@ public class JungleMazeGame extends JFrame {
         }
     }
 
+    /* ===========================
+       Streaming maze generator (Eller's algorithm)
+       - emits one grid row at a time in the Maze cell encoding (state | terrain << TERRAIN_SHIFT)
+       - memory is O(width): only the current row's room sets are kept, so the height can be
+         arbitrarily large (write rows to a file sink instead of building a Maze)
+       - rooms are the odd cells, like generatePrim/generateKruskal; the result is a perfect maze
+       - open cells draw terrain from their own stream; with none they stay TERR_DEFAULT, so
+         Maze.generateEller can assign terrain in its PHASE_TERRAIN pass like the other generators
+       =========================== */
+    static class EllerGenerator implements Iterator<byte[]> {
+        final int width, height;        // grid cells, both odd
+        final int rooms;                // rooms per row
+        final RandomGenerator rnd;
+        final RandomGenerator terrain;  // null = layout only
+        int row = 0;                    // next grid row to emit
+
+        final byte[] out;               // reused for every row
+        final int[] sets;               // set label per room in the current room row, 0 = none
+        final boolean[] down;           // room opened south in the last room row
+        final int[] parent, count, free;
+        final boolean[] hasDown, used;
+
+        EllerGenerator(int width, int height, RandomGenerator rnd) {
+            this(width, height, rnd, rnd);
+        }
+
+        EllerGenerator(int width, int height, RandomGenerator rnd, RandomGenerator terrain) {
+            this.width = width % 2 == 1 ? width : width + 1;
+            this.height = height % 2 == 1 ? height : height + 1;
+            this.rooms = this.width / 2;
+            this.rnd = rnd;
+            this.terrain = terrain;
+            out = new byte[this.width];
+            sets = new int[rooms];
+            down = new boolean[rooms];
+            parent = new int[rooms + 1];
+            count = new int[rooms + 1];
+            free = new int[rooms];
+            hasDown = new boolean[rooms + 1];
+            used = new boolean[rooms + 1];
+        }
+
+        @Override
+        public boolean hasNext() { return row < height; }
+
+        // The returned array is reused by the next call; copy it to keep it.
+        @Override
+        public byte[] next() {
+            if (row >= height) throw new NoSuchElementException();
+            Arrays.fill(out, (byte) Maze.WALL);
+            if (row % 2 == 1) roomRow(row == height - 2);
+            else if (row > 0 && row < height - 1) {
+                for (int k=0;k<rooms;k++) if (down[k]) out[2*k + 1] = openCell();
+            }
+            row++;
+            return out;
+        }
+
+        // Write all remaining rows, `width` bytes each, to a sink.
+        void writeTo(OutputStream os) throws IOException {
+            while (hasNext()) os.write(next());
+        }
+
+        byte openCell() {
+            int t = terrain == null ? Maze.TERR_DEFAULT : Maze.randomTerrain(terrain);
+            return (byte) (Maze.PATH | t << Maze.TERRAIN_SHIFT);
+        }
+
+        int find(int a) {
+            while (parent[a] != a) { parent[a] = parent[parent[a]]; a = parent[a]; }
+            return a;
+        }
+
+        void roomRow(boolean last) {
+            // fresh labels for rooms not carried down from the row above; labels stay in 1..rooms
+            Arrays.fill(used, false);
+            for (int k=0;k<rooms;k++) used[sets[k]] = true;
+            int nFree = 0;
+            for (int l=1;l<=rooms;l++) if (!used[l]) free[nFree++] = l;
+            for (int k=0;k<rooms;k++) if (sets[k] == 0) sets[k] = free[--nFree];
+            for (int l=0;l<=rooms;l++) parent[l] = l;
+
+            // randomly join east neighbours in different sets (all of them on the last row)
+            for (int k=0;k<rooms;k++) {
+                out[2*k + 1] = openCell();
+                if (k + 1 == rooms) break;
+                int a = find(sets[k]), b = find(sets[k + 1]);
+                if (a != b && (last || rnd.nextBoolean())) {
+                    parent[b] = a;
+                    out[2*k + 2] = openCell();
+                }
+            }
+            if (last) return;
+
+            // each set gets at least one opening south; the rest are random
+            Arrays.fill(count, 0);
+            Arrays.fill(hasDown, false);
+            for (int k=0;k<rooms;k++) { sets[k] = find(sets[k]); count[sets[k]]++; }
+            for (int k=0;k<rooms;k++) {
+                int l = sets[k];
+                boolean lastOfSet = --count[l] == 0;
+                down[k] = rnd.nextBoolean() || (lastOfSet && !hasDown[l]);
+                if (down[k]) hasDown[l] = true;
+            }
+            for (int k=0;k<rooms;k++) if (!down[k]) sets[k] = 0;
+        }
+    }
+
+    /* ===========================
+       Maze file format (version 1, big-endian)
+       - 40-byte header: magic "JMAZ", version, generator code, 2 reserved bytes, size,
+         startR, startC, exitR, exitC, seed (long), 4 reserved bytes
+       - wall plane: one bit per cell id (LSB first), 1 = WALL
+       - terrain plane: two bits per cell id (LSB first), only meaningful for open cells
+       - EXPLORED/SOLUTION marks are not stored; START/EXIT come from the header
+       - write() streams from the Maze; map() memory-maps both planes, so opening is
+         O(1) and headless solvers read the file pages directly (see MappedMaze)
+       =========================== */
+    static final class MazeFile {
+        static final int MAGIC = 0x4A4D415A;   // "JMAZ"
+        static final int VERSION = 1;
+        static final int HEADER_BYTES = 40;
+
+        static long wallBytes(int size) { return ((long) size * size + 7) / 8; }
+        static long terrainBytes(int size) { return ((long) size * size + 3) / 4; }
+
+        static void write(Maze mz, Path file) throws IOException {
+            try (OutputStream os = Files.newOutputStream(file)) {
+                write(mz, os);
+            }
+        }
+
+        static void write(Maze mz, OutputStream os) throws IOException {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os, 1 << 16));
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeByte(mz.generator);
+            out.writeShort(0);
+            out.writeInt(mz.size);
+            out.writeInt(mz.startR);
+            out.writeInt(mz.startC);
+            out.writeInt(mz.exitR);
+            out.writeInt(mz.exitC);
+            out.writeLong(mz.seed);
+            out.writeInt(0);
+
+            int n = mz.size * mz.size;
+            int acc = 0;
+            for (int id=0;id<n;id++) {
+                if (!mz.isOpen(id)) acc |= 1 << (id & 7);
+                if ((id & 7) == 7) { out.write(acc); acc = 0; }
+            }
+            if ((n & 7) != 0) out.write(acc);
+
+            acc = 0;
+            for (int id=0;id<n;id++) {
+                acc |= mz.terrain(id) << 2 * (id & 3);
+                if ((id & 3) == 3) { out.write(acc); acc = 0; }
+            }
+            if ((n & 3) != 0) out.write(acc);
+            out.flush();
+        }
+
+        // Maps the file read-only; the mapping outlives the channel.
+        static MappedMaze map(Path file) throws IOException {
+            try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+                if (ch.size() < HEADER_BYTES) throw new IOException("not a maze file: " + file);
+                ByteBuffer h = ByteBuffer.allocate(HEADER_BYTES);
+                while (h.hasRemaining() && ch.read(h) >= 0) { }
+                h.flip();
+                if (h.getInt() != MAGIC) throw new IOException("not a maze file: " + file);
+                int version = h.get() & 0xFF;
+                if (version != VERSION) throw new IOException("unsupported maze file version " + version);
+                int generator = h.get() & 0xFF;
+                h.getShort();
+                int size = h.getInt();
+                if (size <= 0 || (long) size * size > Integer.MAX_VALUE) throw new IOException("bad maze size " + size);
+                int sr = h.getInt(), sc = h.getInt(), er = h.getInt(), ec = h.getInt();
+                long seed = h.getLong();
+                checkEndpoint("start", sr, sc, size);
+                checkEndpoint("exit", er, ec, size);
+
+                long wb = wallBytes(size), tb = terrainBytes(size);
+                if (ch.size() < HEADER_BYTES + wb + tb) throw new IOException("truncated maze file: " + file);
+                MappedByteBuffer walls = ch.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, wb);
+                MappedByteBuffer terrain = ch.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES + wb, tb);
+                MappedMaze mz = new MappedMaze(size, seed, walls, terrain);
+                mz.generator = generator;
+                mz.startR = sr; mz.startC = sc; mz.exitR = er; mz.exitC = ec;
+                if (sr >= 0 && !mz.isOpen(mz.id(sr, sc))) throw new IOException("start (" + sr + "," + sc + ") is a wall");
+                if (er >= 0 && !mz.isOpen(mz.id(er, ec))) throw new IOException("exit (" + er + "," + ec + ") is a wall");
+                return mz;
+            }
+        }
+
+        // (-1, -1) = not placed; anything else must lie on the grid
+        static void checkEndpoint(String what, int r, int c, int size) throws IOException {
+            if (r == -1 && c == -1) return;
+            if (r < 0 || r >= size || c < 0 || c >= size) {
+                throw new IOException("bad " + what + " (" + r + "," + c + ") for a " + size + " maze");
+            }
+        }
+
+        // Decodes a file into an ordinary, editable Maze (what the GUI works on).
+        static Maze load(Path file) throws IOException {
+            return map(file).toMaze();
+        }
+
+        /* Read-only Maze whose cells live in the mapped planes; no size*size array is
+           allocated, so `cells` stays null. Every accessor is overridden: reads decode the
+           planes, and every write (setState/putState and friends, initGrid, so all the
+           generators, layoutChanged) throws UnsupportedOperationException. Solvers and
+           MazePanel only read; editing needs toMaze(). Marks go to an Overlay. */
+        static final class MappedMaze extends Maze {
+            final MappedByteBuffer walls, terrainPlane;
+
+            MappedMaze(int size, long seed, MappedByteBuffer walls, MappedByteBuffer terrainPlane) {
+                super(size, seed, false);
+                this.walls = walls;
+                this.terrainPlane = terrainPlane;
+            }
+
+            @Override int state(int r, int c) { return state(r * size + c); }
+            @Override int state(int id) {
+                if ((walls.get(id >>> 3) & 1 << (id & 7)) != 0) return WALL;
+                int r = id / size, c = id % size;
+                if (r == startR && c == startC) return START;
+                if (r == exitR && c == exitC) return EXIT;
+                return PATH;
+            }
+            @Override int terrain(int r, int c) { return terrain(r * size + c); }
+            @Override int terrain(int id) { return terrainPlane.get(id >>> 2) >> 2 * (id & 3) & 3; }
+            @Override boolean isOpen(int id) { return (walls.get(id >>> 3) & 1 << (id & 7)) == 0; }
+            @Override int code(int id) { return state(id) | terrain(id) << TERRAIN_SHIFT; }
+
+            @Override void setState(int id, int st) { throw readOnly(); }
+            @Override void setTerrain(int id, int t) { throw readOnly(); }
+            @Override void putState(int r, int c, int st) { throw readOnly(); }
+            @Override void putTerrain(int r, int c, int t) { throw readOnly(); }
+            @Override void initGrid() { throw readOnly(); }
+            @Override void layoutChanged() { throw readOnly(); }
+
+            static UnsupportedOperationException readOnly() {
+                return new UnsupportedOperationException("mapped maze is read-only; use toMaze()");
+            }
+
+            Maze toMaze() {
+                Maze mz = new Maze(size, seed, false);
+                int n = size * size;
+                mz.cells = new byte[n];
+                for (int id=0;id<n;id++) {
+                    mz.cells[id] = (byte) (isOpen(id) ? PATH | terrain(id) << TERRAIN_SHIFT : WALL);
+                }
+                mz.layoutVersion++;
+                mz.generator = generator;
+                mz.startR = startR; mz.startC = startC; mz.exitR = exitR; mz.exitC = exitC;
+                if (startR >= 0) mz.setState(startR, startC, START);
+                if (exitR >= 0) mz.setState(exitR, exitC, EXIT);
+                return mz;
+            }
+        }
+    }
+
     /* ===========================
        Maze visual panel (with confetti)
        =========================== */
     class MazePanel extends JPanel {
         Maze m;
-        int blockSize;
+        int blockSize;                  // tile size in px while not in raster mode
+        double scale;                   // px per cell; equals blockSize unless below RASTER_BELOW
         int padding = 20;
 
         // optional external door image
         BufferedImage doorImg = null;
 
+        // Render caches. The atlas holds one pre-drawn image per tile type (rock + 4 terrains)
+        // at the current blockSize; the static layer is the whole wall/terrain picture built
+        // from atlas blits, rebuilt only when the maze layout, block size or panel size change.
+        // Overlays (EXPLORED/SOLUTION/START/EXIT) and confetti are drawn on top every paint.
+        BufferedImage[] tileAtlas;      // [0] rock, [1 + terrain] terrain tiles; 1px margin each side
+        int atlasBlockSize = -1;
+        BufferedImage staticLayer;
+        Maze layerMaze;
+        int layerVersion = -1;
+
+        // Raster mode (scale < RASTER_BELOW): one ARGB pixel per cell, written straight into the
+        // image's int[] and drawn scaled. Rebuilt when the maze, its layout or the published
+        // overlay change; solver steps patch single pixels through repaintCells().
+        BufferedImage raster;
+        int[] rasterPx;
+        Maze rasterMaze;
+        int rasterLayout = -1;
+        Overlay rasterMarks;
+
+        static final double RASTER_BELOW = 4;
+        static final double MAX_SCALE = 64;
+        static final double ZOOM_STEP = 1.25;
+        // above this the static layer is skipped and visible tiles are blitted per paint
+        static final long MAX_LAYER_PIXELS = 3000L * 3000L;
+        // repaintCells(): more row runs than this and one bounding-box repaint is cheaper
+        static final int MAX_CELL_RUNS = 32;
+
+        static final Color GRID_LINE = new Color(0,0,0,40);
+        // the old per-cell loop drew grid lines and water ripples with the 2px stroke left
+        // behind by the last rock block; the cached tiles keep that look
+        static final BasicStroke CELL_STROKE = new BasicStroke(2f);
+        static final Color EXPLORED_FILL = new Color(246, 61, 61, 126);
+        static final Color SOLUTION_FILL = new Color(255, 30, 30,220);
+        // raster colour per packed cell byte (state | terrain << 3): a flat average of each tile
+        static final int[] RASTER_RGB = rasterColors();
+
         // CONFETTI fields
         boolean confettiActive = false;
         int confettiCount = 140;
@@ -483,11 +1129,17 @@ public class JungleMazeGame extends JFrame {
 
         MazePanel(Maze m, int blockSize) {
             this.m = m;
-            this.blockSize = blockSize;
-            int w = m.size * blockSize + padding * 2;
-            int h = m.size * blockSize + padding * 2;
-            setPreferredSize(new Dimension(w, h));
             setBackground(new Color(16, 48, 20));
+            setScale(blockSize);
+
+            // Ctrl + wheel zooms around the mouse; a plain wheel goes on to the scroll pane
+            addMouseWheelListener(e -> {
+                if (e.isControlDown()) {
+                    zoomAt(e.getPoint(), e.getWheelRotation() < 0);
+                } else if (getParent() != null) {
+                    getParent().dispatchEvent(SwingUtilities.convertMouseEvent(this, e, getParent()));
+                }
+            });
 
             // Try loading door.png or door.jpg from working directory first, then classpath
             try {
@@ -513,41 +1165,288 @@ public class JungleMazeGame extends JFrame {
             super.paintComponent(g);
             Graphics2D g2 = (Graphics2D)g;
             g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            drawBackgroundTexture(g2);
-            drawCells(g2);
+            if (rasterMode()) {
+                drawBackgroundTexture(g2);
+                drawRaster(g2);
+            } else {
+                BufferedImage layer = staticLayer();
+                if (layer != null) {
+                    g2.drawImage(layer, 0, 0, null); // background texture + walls + terrain
+                } else {
+                    drawBackgroundTexture(g2);
+                    drawTiles(g2);
+                }
+                drawCells(g2);
+            }
 
             if (confettiActive) drawConfetti(g2);
         }
 
+        BufferedImage[] tileAtlas() {
+            if (tileAtlas != null && atlasBlockSize == blockSize) return tileAtlas;
+            int s = blockSize;
+            tileAtlas = new BufferedImage[5];
+            for (int i=0;i<tileAtlas.length;i++) {
+                BufferedImage img = new BufferedImage(s + 2, s + 2, BufferedImage.TYPE_INT_ARGB);
+                Graphics2D g2 = img.createGraphics();
+                g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                g2.translate(1, 1); // rock outlines spill one pixel outside the cell
+                g2.setStroke(CELL_STROKE);
+                if (i == 0) drawRockBlock(g2, 0, 0, s);
+                else drawTerrain(g2, 0, 0, s, i - 1);
+                g2.setColor(GRID_LINE);
+                g2.drawRect(0, 0, s-1, s-1);
+                g2.dispose();
+                tileAtlas[i] = img;
+            }
+            atlasBlockSize = s;
+            return tileAtlas;
+        }
+
+        BufferedImage staticLayer() {
+            int w = Math.max(1, getWidth()), h = Math.max(1, getHeight());
+            if ((long) w * h > MAX_LAYER_PIXELS) {
+                staticLayer = null;
+                return null;
+            }
+            if (staticLayer != null && layerMaze == m && layerVersion == m.layoutVersion
+                    && atlasBlockSize == blockSize && staticLayer.getWidth() == w && staticLayer.getHeight() == h) {
+                return staticLayer;
+            }
+            BufferedImage[] atlas = tileAtlas();
+            BufferedImage img = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g2 = img.createGraphics();
+            g2.setColor(getBackground());
+            g2.fillRect(0, 0, w, h);
+            drawBackgroundTexture(g2);
+            drawTiles(g2);
+            g2.dispose();
+            staticLayer = img;
+            layerMaze = m;
+            layerVersion = m.layoutVersion;
+            return img;
+        }
+
         void drawBackgroundTexture(Graphics2D g2) {
-            for (int y=0; y<getHeight(); y+=40) {
+            Rectangle clip = g2.getClipBounds();
+            if (clip == null) clip = new Rectangle(0, 0, getWidth(), getHeight());
+            for (int y = clip.y - Math.floorMod(clip.y, 40); y < clip.y + clip.height; y+=40) {
                 g2.setColor(new Color(12 + (y%60)/6, 30 + (y%40)/5, 10 + (y%40)/8, 25));
-                g2.fillRect(0,y,getWidth(),40);
+                g2.fillRect(clip.x,y,clip.width,40);
+            }
+        }
+
+        // Wall/terrain tiles for the cells under the clip (all cells when unclipped), plus a
+        // one-cell margin because rock outlines spill a pixel into their neighbours.
+        void drawTiles(Graphics2D g2) {
+            BufferedImage[] atlas = tileAtlas();
+            Rectangle v = visibleCells(g2.getClipBounds(), 1);
+            // row-major like the old per-cell painting, so outline spill overlaps the same way
+            for (int r=v.y;r<v.y+v.height;r++) {
+                for (int c=v.x;c<v.x+v.width;c++) {
+                    int st = m.state(r,c);
+                    BufferedImage tile = st == Maze.WALL ? atlas[0] : atlas[1 + m.terrain(r,c)];
+                    g2.drawImage(tile, padding + c*blockSize - 1, padding + r*blockSize - 1, null);
+                }
+            }
+        }
+
+        // Visible slice of the raster, scaled with nearest-neighbour sampling.
+        void drawRaster(Graphics2D g2) {
+            BufferedImage img = raster();
+            Rectangle v = visibleCells(g2.getClipBounds(), 0);
+            if (v.width <= 0 || v.height <= 0) return;
+            g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+            g2.drawImage(img, cellEdge(v.x), cellEdge(v.y), cellEdge(v.x + v.width), cellEdge(v.y + v.height),
+                    v.x, v.y, v.x + v.width, v.y + v.height, null);
+        }
+
+        BufferedImage raster() {
+            Overlay ov = m.overlay();
+            if (raster != null && rasterMaze == m && rasterLayout == m.layoutVersion && rasterMarks == ov) {
+                return raster;
+            }
+            if (raster == null || raster.getWidth() != m.size) {
+                raster = new BufferedImage(m.size, m.size, BufferedImage.TYPE_INT_ARGB);
+                rasterPx = ((DataBufferInt) raster.getRaster().getDataBuffer()).getData();
+            }
+            int n = m.size * m.size;
+            for (int i=0;i<n;i++) rasterPx[i] = rasterColor(m.code(i), ov == null ? 0 : ov.marks[i]);
+            rasterMaze = m;
+            rasterLayout = m.layoutVersion;
+            rasterMarks = ov;
+            return raster;
+        }
+
+        // marks only show on PATH cells (START/EXIT keep their colour); PATH == 0, so OR-ing works
+        static int rasterColor(int cell, int mark) {
+            int code = cell & 0x1F;
+            if ((code & Maze.STATE_MASK) == Maze.PATH) code |= mark;
+            return RASTER_RGB[code];
+        }
+
+        static int[] rasterColors() {
+            int[] terrain = {0xEBE4D2, 0x5AA046, 0x554B2D, 0x378CC8};   // DEFAULT, GRASS, MUD, WATER
+            int[] rgb = new int[32];
+            for (int t=0;t<4;t++) {
+                int base = terrain[t];
+                rgb[Maze.PATH | t << Maze.TERRAIN_SHIFT] = base;
+                rgb[Maze.WALL | t << Maze.TERRAIN_SHIFT] = 0x4F4F4F;
+                rgb[Maze.EXPLORED | t << Maze.TERRAIN_SHIFT] = blend(base, EXPLORED_FILL);
+                rgb[Maze.SOLUTION | t << Maze.TERRAIN_SHIFT] = blend(base, SOLUTION_FILL);
+                rgb[Maze.START | t << Maze.TERRAIN_SHIFT] = 0x1E8C3C;
+                rgb[Maze.EXIT | t << Maze.TERRAIN_SHIFT] = 0xA05F32;
             }
+            for (int i=0;i<rgb.length;i++) rgb[i] |= 0xFF000000;
+            return rgb;
         }
 
+        static int blend(int rgb, Color over) {
+            int a = over.getAlpha();
+            int r = (((rgb >> 16) & 0xFF) * (255 - a) + over.getRed() * a) / 255;
+            int g = (((rgb >> 8) & 0xFF) * (255 - a) + over.getGreen() * a) / 255;
+            int b = ((rgb & 0xFF) * (255 - a) + over.getBlue() * a) / 255;
+            return r << 16 | g << 8 | b;
+        }
+
+        // Overlays for the cells under the clip; walls and terrain come from the static layer,
+        // so repaintCells() stays proportional to the number of changed cells.
         void drawCells(Graphics2D g2) {
-            for (int r=0;r<m.size;r++) {
-                for (int c=0;c<m.size;c++) {
+            Rectangle v = visibleCells(g2.getClipBounds(), 0);
+            Overlay ov = m.overlay();
+            int s = blockSize;
+            for (int r=v.y;r<v.y+v.height;r++) {
+                for (int c=v.x;c<v.x+v.width;c++) {
+                    int st = m.state(r,c);
+                    if (st == Maze.WALL) continue;
+                    if (st == Maze.PATH) {
+                        if (ov == null) continue;
+                        st = ov.mark(r * m.size + c);
+                        if (st == 0) continue;
+                    }
                     int x = padding + c*blockSize;
                     int y = padding + r*blockSize;
-                    int s = blockSize;
-                    int st = m.state[r][c];
-                    if (st == Maze.WALL) {
-                        drawRockBlock(g2, x, y, s); // rock walls
-                    } else {
-                        drawTerrain(g2, x, y, s, m.terrain[r][c]);
-                        if (st == Maze.EXPLORED) drawExploredOverlay(g2, x, y, s);
-                        else if (st == Maze.SOLUTION) drawSolutionOverlay(g2, x, y, s);
-                        else if (st == Maze.START) drawStartIcon(g2, x, y, s);
+                    if (st == Maze.EXPLORED) drawExploredOverlay(g2, x, y, s);
+                    else if (st == Maze.SOLUTION) drawSolutionOverlay(g2, x, y, s);
+                    else {
+                        // START/EXIT: only two cells, redrawn the old way so the icon sits under
+                        // the grid line; clipped so the outline cannot spill onto neighbours
+                        Shape oldClip = g2.getClip();
+                        g2.clipRect(x, y, s, s);
+                        g2.setStroke(CELL_STROKE);
+                        drawTerrain(g2, x, y, s, m.terrain(r,c));
+                        if (st == Maze.START) drawStartIcon(g2, x, y, s);
                         else if (st == Maze.EXIT) drawDoorIcon(g2, x, y, s); // door icon (image or fallback)
+                        g2.setColor(GRID_LINE);
+                        g2.drawRect(x, y, s-1, s-1);
+                        g2.setClip(oldClip);
                     }
-                    g2.setColor(new Color(0,0,0,40));
-                    g2.drawRect(x, y, s-1, s-1);
                 }
             }
         }
 
+        // Cells (x = column, y = row) intersecting the clip, grown by margin; all cells if clip is null.
+        Rectangle visibleCells(Rectangle clip, int margin) {
+            if (clip == null) return new Rectangle(0, 0, m.size, m.size);
+            int c0 = Math.max(0, (int) Math.floor((clip.x - padding) / scale) - margin);
+            int r0 = Math.max(0, (int) Math.floor((clip.y - padding) / scale) - margin);
+            int c1 = Math.min(m.size - 1, (int) Math.floor((clip.x + clip.width - padding) / scale) + margin);
+            int r1 = Math.min(m.size - 1, (int) Math.floor((clip.y + clip.height - padding) / scale) + margin);
+            return new Rectangle(c0, r0, Math.max(0, c1 - c0 + 1), Math.max(0, r1 - r0 + 1));
+        }
+
+        // Pixel offset of the left/top edge of column/row i.
+        int cellEdge(int i) {
+            return padding + (int) Math.floor(i * scale);
+        }
+
+        // Repaints the given cells (flat ids), merged into runs of adjacent cells along a row.
+        // Each run is painted right away: repaint() would union them all into one bounding
+        // box. Above MAX_CELL_RUNS runs one repaint of the bounding box is cheaper. In raster
+        // mode the changed pixels are written first.
+        void repaintCells(IntList ids) {
+            if (ids.size == 0) return;
+            Overlay ov = m.overlay();
+            boolean patch = rasterMode() && raster != null && rasterMaze == m
+                    && rasterLayout == m.layoutVersion && rasterMarks != null
+                    && (rasterMarks == ov || rasterMarks.precedes(ov));
+            if (patch) {
+                for (int i=0;i<ids.size;i++) {
+                    int id = ids.get(i);
+                    rasterPx[id] = rasterColor(m.code(id), ov.marks[id]);
+                }
+                rasterMarks = ov;
+            }
+
+            int[] sorted = Arrays.copyOf(ids.a, ids.size);
+            Arrays.sort(sorted);
+            IntList runs = new IntList(16);     // first, last id of each run
+            for (int i=0;i<sorted.length && runs.size <= 2 * MAX_CELL_RUNS;) {
+                int first = sorted[i], last = first;
+                while (++i < sorted.length && sorted[i] <= last + 1 && sorted[i] / m.size == first / m.size) last = sorted[i];
+                runs.add(first);
+                runs.add(last);
+            }
+            if (runs.size > 2 * MAX_CELL_RUNS) {
+                int r0 = Integer.MAX_VALUE, c0 = Integer.MAX_VALUE, r1 = -1, c1 = -1;
+                for (int id : sorted) {
+                    int r = id / m.size, c = id % m.size;
+                    r0 = Math.min(r0, r); r1 = Math.max(r1, r);
+                    c0 = Math.min(c0, c); c1 = Math.max(c1, c);
+                }
+                int x = cellEdge(c0), y = cellEdge(r0);
+                repaint(x, y, Math.max(1, cellEdge(c1 + 1) - x), Math.max(1, cellEdge(r1 + 1) - y));
+                return;
+            }
+            for (int k=0;k<runs.size;k+=2) {
+                int r = runs.get(k) / m.size, c0 = runs.get(k) % m.size, c1 = runs.get(k + 1) % m.size;
+                int x = cellEdge(c0), y = cellEdge(r);
+                paintImmediately(x, y, Math.max(1, cellEdge(c1 + 1) - x), Math.max(1, cellEdge(r + 1) - y));
+            }
+        }
+
+        /* ---------- zoom ---------- */
+
+        boolean rasterMode() {
+            return scale < RASTER_BELOW;
+        }
+
+        // Sets px per cell; tile zoom levels are whole pixels, raster levels may be fractional.
+        void setScale(double s) {
+            s = Math.max(Math.min(1.0, 200.0 / m.size), Math.min(MAX_SCALE, s));
+            if (s >= RASTER_BELOW) {
+                s = Math.round(s);
+                blockSize = (int) s;
+            }
+            scale = s;
+            int px = (int) Math.ceil(m.size * scale) + padding * 2;
+            setPreferredSize(new Dimension(px, px));
+            revalidate();
+            repaint();
+        }
+
+        // Largest zoom (up to maxBlock) at which the whole maze fits into avail px.
+        void fitScale(int avail, int maxBlock) {
+            setScale(Math.min(maxBlock, (avail - padding * 2) / (double) m.size));
+        }
+
+        // One zoom step in or out, keeping the cell under p (panel coords) under the mouse.
+        void zoomAt(Point p, boolean in) {
+            double old = scale;
+            setScale(in ? scale * ZOOM_STEP : scale / ZOOM_STEP);
+            if (scale == old || !(getParent() instanceof JViewport)) return;
+            JViewport vp = (JViewport) getParent();
+            Point view = vp.getViewPosition();
+            double k = scale / old;
+            setSize(getPreferredSize());
+            int nx = (int) Math.round((p.x - padding) * k + padding) - (p.x - view.x);
+            int ny = (int) Math.round((p.y - padding) * k + padding) - (p.y - view.y);
+            Dimension ext = vp.getExtentSize();
+            nx = Math.max(0, Math.min(nx, getWidth() - ext.width));
+            ny = Math.max(0, Math.min(ny, getHeight() - ext.height));
+            vp.setViewPosition(new Point(nx, ny));
+        }
+
         void drawRockBlock(Graphics2D g2, int x, int y, int s) {
             // darker rock look
             GradientPaint gp = new GradientPaint(
@@ -621,13 +1520,13 @@ public class JungleMazeGame extends JFrame {
         }
 
         void drawExploredOverlay(Graphics2D g2, int x, int y, int s) {
-            g2.setColor(new Color(246, 61, 61, 126));
+            g2.setColor(EXPLORED_FILL);
             g2.fillRect(x+2, y+2, s-4, s-4);
         }
 
         void drawSolutionOverlay(Graphics2D g2, int x, int y, int s) {
             // bright blue final path
-            g2.setColor(new Color(255, 30, 30,220)); // DodgerBlue
+            g2.setColor(SOLUTION_FILL);
             g2.fillRect(x+2, y+2, s-4, s-4);
         }
 
@@ -748,14 +1647,27 @@ public class JungleMazeGame extends JFrame {
     class ControlPanel extends JPanel {
         JComboBox<String> genAlgChoice;
         JComboBox<String> solveChoice;
-        JButton genBtn, solveBtn, pauseBtn, resetBtn;
+        JButton genBtn, solveBtn, pauseBtn, resetBtn, saveBtn, loadBtn;
         JSlider delaySlider, loopsSlider, sizeSlider;
         JSpinner extraWaysSpinner;
+        JTextField seedField;
         JLabel statusLabel;
         AtomicBoolean solving = new AtomicBoolean(false);
+        SwingWorker<?, ?> worker;       // generation or solve setup off the EDT, null when idle
         Timer solverTimer = null;
         Solver currentSolver;
 
+        // replay of the last finished solve (no re-solving; see TraceReplay)
+        JButton replayBtn;
+        JSlider seekSlider;
+        JSpinner replaySpeedSpinner;
+        SolveTrace lastTrace;
+        // finished GUI runs (traces included); Start Solve on an unchanged maze reuses them
+        final SolveCache solveCache = new SolveCache(64L << 20);
+        TraceReplay replay;
+        Timer replayTimer;
+        boolean syncingSeek = false;    // seekSlider moved by code, not by the user
+
         ControlPanel() {
             setLayout(new GridBagLayout());
             setBorder(BorderFactory.createEmptyBorder(8, 8, 8, 8));
@@ -768,7 +1680,7 @@ public class JungleMazeGame extends JFrame {
             t.setFont(new Font("SansSerif", Font.BOLD, 13));
             add(t, gbc);
 
-            genAlgChoice = new JComboBox<>(new String[]{"Prim", "Kruskal"});
+            genAlgChoice = new JComboBox<>(new String[]{"Prim", "Kruskal", "Eller"});
             gbc.gridy++; add(genAlgChoice, gbc);
 
             gbc.gridy++;
@@ -783,21 +1695,36 @@ public class JungleMazeGame extends JFrame {
 
             gbc.gridy++;
             add(new JLabel("Grid size (odd)") {{ setForeground(Color.WHITE); }}, gbc);
-            sizeSlider = new JSlider(11, 51, DEFAULT_MAZE_SIZE);
-            sizeSlider.setMajorTickSpacing(10); sizeSlider.setPaintTicks(true);
+            // beyond ~51 the view switches to smaller tiles / raster mode (Ctrl + wheel to zoom)
+            sizeSlider = new JSlider(11, MAX_MAZE_SIZE, DEFAULT_MAZE_SIZE);
+            sizeSlider.setMajorTickSpacing(500); sizeSlider.setPaintTicks(true);
             gbc.gridy++; add(sizeSlider, gbc);
 
+            gbc.gridy++;
+            add(new JLabel("Seed (blank = random)") {{ setForeground(Color.WHITE); }}, gbc);
+            seedField = new JTextField();
+            gbc.gridy++; add(seedField, gbc);
+
             genBtn = new JButton("Generate Maze");
             genBtn.setBackground(new Color(85,170,85)); genBtn.setForeground(Color.WHITE);
             gbc.gridy++; add(genBtn, gbc);
 
+            JPanel fileRow = new JPanel(new GridLayout(1, 2, 4, 0));
+            fileRow.setOpaque(false);
+            saveBtn = new JButton("Save Maze...");
+            loadBtn = new JButton("Load Maze...");
+            fileRow.add(saveBtn); fileRow.add(loadBtn);
+            gbc.gridy++; add(fileRow, gbc);
+
             gbc.gridy++; add(new JSeparator(), gbc);
 
             JLabel s = new JLabel("Solver");
             s.setForeground(Color.WHITE); s.setFont(new Font("SansSerif", Font.BOLD, 13));
             gbc.gridy++; add(s, gbc);
 
-            solveChoice = new JComboBox<>(new String[]{"BFS", "DFS", "Dijkstra", "A*"});
+            solveChoice = new JComboBox<>(new String[]{"BFS", "DFS", "Dijkstra", "A*", "Dijkstra (buckets)", "A* (buckets)",
+                    "BFS (bidirectional)", "Dijkstra (bidirectional)", "BFS (corridors)", "Dijkstra (corridors)",
+                    "A* (landmarks)", "Dijkstra (delta-stepping)"});
             gbc.gridy++; add(solveChoice, gbc);
 
             gbc.gridy++; add(new JLabel("Animation delay (ms)") {{ setForeground(Color.WHITE); }}, gbc);
@@ -818,15 +1745,35 @@ public class JungleMazeGame extends JFrame {
 
             gbc.gridy++; add(new JSeparator(), gbc);
 
+            gbc.gridy++; add(new JLabel("Replay (steps per tick)") {{ setForeground(Color.WHITE); }}, gbc);
+            replaySpeedSpinner = new JSpinner(new SpinnerNumberModel(1, 1, 1_000_000, 1));
+            gbc.gridy++; add(replaySpeedSpinner, gbc);
+
+            seekSlider = new JSlider(0, 0, 0); seekSlider.setEnabled(false);
+            gbc.gridy++; add(seekSlider, gbc);
+
+            replayBtn = new JButton("Replay"); replayBtn.setEnabled(false);
+            replayBtn.setBackground(new Color(120,80,160)); replayBtn.setForeground(Color.WHITE);
+            gbc.gridy++; add(replayBtn, gbc);
+
+            gbc.gridy++; add(new JSeparator(), gbc);
+
             statusLabel = new JLabel("Ready"); statusLabel.setForeground(Color.YELLOW);
             gbc.gridy++; add(statusLabel, gbc);
 
             // Listeners
             genBtn.addActionListener(e -> {
                 if (solving.get()) { JOptionPane.showMessageDialog(JungleMazeGame.this, "Cannot generate while solving"); return; }
+                if (worker != null) return;
                 generateMazeAction();
             });
 
+            saveBtn.addActionListener(e -> saveMazeAction());
+            loadBtn.addActionListener(e -> {
+                if (solving.get()) { JOptionPane.showMessageDialog(JungleMazeGame.this, "Cannot load while solving"); return; }
+                loadMazeAction();
+            });
+
             solveBtn.addActionListener(e -> {
                 if (solving.get()) { JOptionPane.showMessageDialog(JungleMazeGame.this, "Already solving"); return; }
                 startSolvingAction();
@@ -846,42 +1793,149 @@ public class JungleMazeGame extends JFrame {
 
             resetBtn.addActionListener(e -> {
                 if (solving.get()) { JOptionPane.showMessageDialog(JungleMazeGame.this, "Cannot reset while solving"); return; }
+                stopReplay();
                 maze.clearMarks();
+                replay = null;
+                setSeek(0);
                 mazePanel.repaint();
                 statusLabel.setText("Visuals reset");
             });
 
+            replayBtn.addActionListener(e -> {
+                if (solving.get()) return;
+                if (replayTimer != null) { stopReplay(); return; }
+                startReplayAction();
+            });
+
+            seekSlider.addChangeListener(e -> {
+                if (syncingSeek || lastTrace == null) return;
+                stopReplay();
+                TraceReplay rp = replay();
+                rp.seek(seekSlider.getValue());
+                rp.publish();
+                mazePanel.repaintCells(rp.dirty);
+                rp.dirty.clear();
+                statusLabel.setText("Replay step " + rp.pos + " / " + rp.length());
+            });
+
             // initial generate
             generateMazeAction();
         }
 
+        // blank or unparsable seed field -> fresh random seed (shown in the status line)
         void generateMazeAction() {
+            long seed;
+            try {
+                seed = Long.parseLong(seedField.getText().trim());
+            } catch (NumberFormatException ex) {
+                seed = new SplittableRandom().nextLong();
+            }
+            generateMazeAction(seed);
+        }
+
+        // Builds the maze on a worker thread (seconds at MAX_MAZE_SIZE); the old maze stays
+        // on screen and the new one is shown only once it is complete.
+        void generateMazeAction(long seed) {
             String genAlg = (String)genAlgChoice.getSelectedItem();
             int size = sizeSlider.getValue();
             if (size % 2 == 0) size++;
-            maze = new Maze(size);
-            mazePanel.m = maze;
-            mazePanel.setPreferredSize(new Dimension(maze.size * BLOCK_SIZE + mazePanel.padding*2,
-                    maze.size * BLOCK_SIZE + mazePanel.padding*2));
-            pack();
+            int extraWays = (int) extraWaysSpinner.getValue();
+            double frac = loopsSlider.getValue()/100.0;
+            int n = size;
 
             statusLabel.setText("Generating...");
-            if ("Prim".equals(genAlg)) maze.generatePrim();
-            else maze.generateKruskal();
+            runInBackground(new SwingWorker<Maze, Void>() {
+                @Override
+                protected Maze doInBackground() {
+                    Maze mz = new Maze(n, seed);
+                    if ("Prim".equals(genAlg)) mz.generatePrim();
+                    else if ("Eller".equals(genAlg)) mz.generateEller();
+                    else mz.generateKruskal();
+
+                    mz.placeStartAndExit();
+
+                    // apply extra ways (open specific walls to create alternative routes)
+                    if (extraWays > 0) {
+                        mz.createExtraWays(extraWays);
+                    }
 
-            maze.placeStartAndExit();
+                    mz.openRandomWalls(frac);
+                    return mz;
+                }
 
-            // apply extra ways (open specific walls to create alternative routes)
-            int extraWays = (int) extraWaysSpinner.getValue();
-            if (extraWays > 0) {
-                maze.createExtraWays(extraWays);
+                @Override
+                protected void done() {
+                    Maze mz = finish(this, "Generation failed");
+                    if (mz == null) return;
+                    showMaze(mz);
+                    statusLabel.setText("Maze generated ("+maze.size+"x"+maze.size+", seed "+maze.seed+"). Start at ("+maze.startR+","+maze.startC+"). Exit at ("+maze.exitR+","+maze.exitC+")");
+                    mazePanel.repaint();
+                }
+            });
+        }
+
+        // One worker at a time; Generate, Load and Start Solve are off until it is done.
+        void runInBackground(SwingWorker<?, ?> w) {
+            worker = w;
+            genBtn.setEnabled(false);
+            loadBtn.setEnabled(false);
+            solveBtn.setEnabled(false);
+            w.execute();
+        }
+
+        // Called from done(): the worker's value, or null after reporting its failure.
+        <T> T finish(SwingWorker<T, ?> w, String failure) {
+            worker = null;
+            genBtn.setEnabled(true);
+            loadBtn.setEnabled(true);
+            solveBtn.setEnabled(!solving.get());
+            try {
+                return w.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (ExecutionException ex) {
+                statusLabel.setText(failure);
+                JOptionPane.showMessageDialog(JungleMazeGame.this, failure + ": " + ex.getCause(), "Error", JOptionPane.ERROR_MESSAGE);
+                return null;
             }
+        }
 
-            double frac = loopsSlider.getValue()/100.0;
-            maze.openRandomWalls(frac);
+        void showMaze(Maze mz) {
+            stopReplay();
+            lastTrace = null;
+            replay = null;
+            replayBtn.setEnabled(false);
+            seekSlider.setEnabled(false);
+            maze = mz;
+            mazePanel.m = maze;
+            // BLOCK_SIZE tiles up to the old 51-cell window, zoomed out to fit beyond that
+            mazePanel.fitScale(51 * BLOCK_SIZE + mazePanel.padding*2, BLOCK_SIZE);
+            pack();
+        }
 
-            statusLabel.setText("Maze generated ("+maze.size+"x"+maze.size+"). Start at ("+maze.startR+","+maze.startC+"). Exit at ("+maze.exitR+","+maze.exitC+")");
-            mazePanel.repaint();
+        void saveMazeAction() {
+            JFileChooser fc = new JFileChooser(new File("."));
+            fc.setSelectedFile(new File("maze-" + maze.size + "-" + maze.seed + ".jmaze"));
+            if (fc.showSaveDialog(JungleMazeGame.this) != JFileChooser.APPROVE_OPTION) return;
+            try {
+                MazeFile.write(maze, fc.getSelectedFile().toPath());
+                statusLabel.setText("Saved " + fc.getSelectedFile().getName());
+            } catch (IOException ex) {
+                JOptionPane.showMessageDialog(JungleMazeGame.this, "Save failed: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            }
+        }
+
+        void loadMazeAction() {
+            JFileChooser fc = new JFileChooser(new File("."));
+            if (fc.showOpenDialog(JungleMazeGame.this) != JFileChooser.APPROVE_OPTION) return;
+            try {
+                showMaze(MazeFile.load(fc.getSelectedFile().toPath()));
+                statusLabel.setText("Loaded " + fc.getSelectedFile().getName() + " ("+maze.size+"x"+maze.size+", seed "+maze.seed+")");
+                mazePanel.repaint();
+            } catch (IOException ex) {
+                JOptionPane.showMessageDialog(JungleMazeGame.this, "Load failed: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            }
         }
 
         void startSolvingAction() {
@@ -890,12 +1944,53 @@ public class JungleMazeGame extends JFrame {
             if ("BFS".equals(solverName)) type = SolverType.BFS;
             else if ("DFS".equals(solverName)) type = SolverType.DFS;
             else if ("Dijkstra".equals(solverName)) type = SolverType.DIJKSTRA;
+            else if ("Dijkstra (buckets)".equals(solverName)) type = SolverType.DIAL;
+            else if ("A* (buckets)".equals(solverName)) type = SolverType.DIAL_ASTAR;
+            else if ("BFS (bidirectional)".equals(solverName)) type = SolverType.BIDI_BFS;
+            else if ("Dijkstra (bidirectional)".equals(solverName)) type = SolverType.BIDI_DIJKSTRA;
+            else if ("BFS (corridors)".equals(solverName)) type = SolverType.CORRIDOR;
+            else if ("Dijkstra (corridors)".equals(solverName)) type = SolverType.CORRIDOR_DIJKSTRA;
+            else if ("A* (landmarks)".equals(solverName)) type = SolverType.ALT;
+            else if ("Dijkstra (delta-stepping)".equals(solverName)) type = SolverType.DELTA_STEPPING;
             else type = SolverType.ASTAR;
 
             int delay = delaySlider.getValue();
+            stopReplay();
             maze.clearMarks();
+            replay = null;
+            replayBtn.setEnabled(false);
+            seekSlider.setEnabled(false);
+
+            // The cache key (the maze fingerprint) and the Solver's setup (corridor graph,
+            // landmarks) cost a pass over every cell, so they run off the EDT too. `solving`
+            // is already set, which keeps Generate/Load/Reset away from the maze meanwhile.
+            Maze mz = maze;
+            solving.set(true);
+            statusLabel.setText("Preparing " + type + "...");
+            runInBackground(new SwingWorker<Solver, Void>() {
+                SolveResult cached;
+
+                @Override
+                protected Solver doInBackground() {
+                    cached = solveCache.get(mz, type);
+                    return cached != null ? null : new Solver(mz, type, true, true);
+                }
+
+                @Override
+                protected void done() {
+                    solving.set(false);
+                    Solver s = finish(this, "Solve failed");
+                    if (cached != null) showCachedSolve(cached);
+                    else if (s != null) animateSolve(s, type, delay);
+                }
+            });
+        }
 
-            currentSolver = new Solver(maze, type);
+        // Steps `s` once per timer tick on the EDT; each step expands one cell (one distance
+        // bucket for DELTA_STEPPING), so the UI stays responsive at any maze size.
+        void animateSolve(Solver s, SolverType type, int delay) {
+            currentSolver = s;
+            currentSolver.publish();
             solving.set(true);
             solveBtn.setEnabled(false);
             pauseBtn.setEnabled(true);
@@ -908,7 +2003,9 @@ public class JungleMazeGame extends JFrame {
             solverTimer = new Timer(delay, null);
             solverTimer.addActionListener(ev -> {
                 boolean finished = currentSolver.step();
-                mazePanel.repaint();
+                currentSolver.publish();
+                mazePanel.repaintCells(currentSolver.dirty);
+                currentSolver.dirty.clear();
                 if (finished) {
                     solverTimer.stop();
 
@@ -921,6 +2018,15 @@ public class JungleMazeGame extends JFrame {
                     solving.set(false);
                     pauseBtn.setEnabled(false);
                     solveBtn.setEnabled(true);
+
+                    // keep the run for replay; the maze already shows its end state
+                    SolveResult res = currentSolver.result();
+                    solveCache.put(maze, type, res);
+                    lastTrace = SolveTrace.of(res, maze.size);
+                    seekSlider.setMaximum(lastTrace.steps);
+                    setSeek(lastTrace.steps);
+                    seekSlider.setEnabled(true);
+                    replayBtn.setEnabled(true);
                     if (currentSolver.found) {
                         // play confetti sound and start visual confetti
                         JungleMazeGame.this.playConfettiOnce();
@@ -942,16 +2048,87 @@ public class JungleMazeGame extends JFrame {
             solverTimer.setDelay(delay);
             solverTimer.start();
         }
+
+        // Same maze, endpoints and solver as an earlier run: jump to its end state, no search.
+        void showCachedSolve(SolveResult res) {
+            lastTrace = SolveTrace.of(res, maze.size);
+            TraceReplay rp = replay();
+            rp.seek(rp.length());
+            rp.publish();
+            rp.dirty.clear();
+            mazePanel.repaint();
+            seekSlider.setMaximum(lastTrace.steps);
+            setSeek(lastTrace.steps);
+            seekSlider.setEnabled(true);
+            replayBtn.setEnabled(true);
+            if (res.found) {
+                statusLabel.setText("FOUND (cached) — Traversal: " + res.steps + " — Path steps: " + res.shortestPathSteps
+                        + " — Weight: " + String.format("%d", Math.round(res.totalWeight)));
+            } else {
+                statusLabel.setText("No path (cached)");
+            }
+        }
+
+        // Replay of lastTrace on the current maze; a new one starts from cleared marks.
+        TraceReplay replay() {
+            if (replay == null) replay = new TraceReplay(maze, lastTrace);
+            return replay;
+        }
+
+        void startReplayAction() {
+            if (lastTrace == null) return;
+            TraceReplay rp = replay();
+            if (rp.atEnd()) rp.seek(0);
+            rp.publish();
+            mazePanel.repaintCells(rp.dirty);
+            rp.dirty.clear();
+            replayBtn.setText("Stop Replay");
+            statusLabel.setText("Replaying " + lastTrace.type + "...");
+            replayTimer = new Timer(delaySlider.getValue(), ev -> {
+                boolean end = rp.advance((int) replaySpeedSpinner.getValue());
+                rp.publish();
+                mazePanel.repaintCells(rp.dirty);
+                rp.dirty.clear();
+                setSeek(rp.pos);
+                if (end) {
+                    stopReplay();
+                    statusLabel.setText("Replay done — " + rp.length() + " steps");
+                }
+            });
+            replayTimer.start();
+        }
+
+        void stopReplay() {
+            if (replayTimer == null) return;
+            replayTimer.stop();
+            replayTimer = null;
+            replayBtn.setText("Replay");
+        }
+
+        void setSeek(int v) {
+            syncingSeek = true;
+            seekSlider.setValue(v);
+            syncingSeek = false;
+        }
     }
 
     /* ===========================
        Solver implementations
        - BFS/DFS: unweighted exploration
        - Dijkstra/A*: use terrain weights (terrainWeight)
+       - DIAL/DIAL_ASTAR: same searches on a bucket queue (Dial's algorithm),
+         possible because terrain costs are small integers (1/5/10)
+       - BIDI_BFS/BIDI_DIJKSTRA: one search from the start and one from the exit,
+         stopped once the best meeting beats what either frontier can still add
+       - CORRIDOR/CORRIDOR_DIJKSTRA: search the junction graph (CorridorGraph) by move
+         count / terrain cost; only junctions left after dead-end filling are expanded,
+         corridors are walked back into cells for the final path
+       - ALT: A* on the heap with the landmark bound (Landmarks) as heuristic
+       - Solver.solve(): headless batch entry point, no Swing and no Maze.state writes
        =========================== */
-    enum SolverType { BFS, DFS, DIJKSTRA, ASTAR }
+    enum SolverType { BFS, DFS, DIJKSTRA, ASTAR, DIAL, DIAL_ASTAR, BIDI_BFS, BIDI_DIJKSTRA, CORRIDOR, CORRIDOR_DIJKSTRA, ALT, DELTA_STEPPING }
 
-    class Solver {
+    static class Solver {
         Maze mz;
         SolverType type;
         boolean found = false;
@@ -959,162 +2136,1890 @@ public class JungleMazeGame extends JFrame {
         int shortestPathSteps = 0;
         double totalWeight = 0.0;
 
-        // BFS/DFS - shared deque
-        Deque<SimpleNode> deque;
-        boolean[][] visited;
-        SimpleNode[][] parent;
-
-        // Dijkstra/A*
-        double[][] dist;
-        SimpleNode[][] dparent;
-        PriorityQueue<PQNode> pq;
+        // GUI mode paints EXPLORED/SOLUTION into its own overlay (publish() shows a snapshot
+        // of it); the maze is only read, so solvers on one maze can run side by side
+        final boolean markMaze;
+        Overlay overlay;
+        IntList explored;               // expansion order (flat ids), null unless recording
+        IntList dirty;                  // cells repainted since the caller last cleared it (GUI mode)
+        int[] path;                     // start..exit flat ids once found
+
+        // BFS/DFS - bordered flat ids (Maze.bordered()), so no bounds checks. `fringe` is a
+        // power-of-two ring indexed by head/tail & mask: the BFS queue is [head, tail), the
+        // DFS stack [0, tail). `free` is a copy of the open flags, cleared as cells are pushed.
+        byte[] free;
+        int[] fringe;
+        int head, tail, mask;
+        int[] from;                     // parent bordered id, -1 = start
+        int[] offsets;                  // Maze.DIRS4 as bordered id offsets
+        int width, exitAt;
+
+        // DELTA_STEPPING: one step() per distance bucket, relaxed on the common pool;
+        // `bucketCells` receives each bucket's cells
+        DeltaStepping stepping;
+        IntList bucketCells;
+
+        // Dijkstra/A* - flat cell ids (r*size+c), integer costs, real decrease-key
+        int[] dist;
+        int[] dparent;                  // parent cell id, -1 = none
+        IndexedMinHeap heap;
+        BucketQueue buckets;            // DIAL/DIAL_ASTAR instead of heap
+        boolean useHeuristic;
+        Landmarks alt;                  // ALT: landmark bound on top of Manhattan
+        int exitId;
+
+        // BIDI_*: index 0 searches from the start, 1 from the exit (over reversed edges).
+        // Entering cell v costs cost(v) (1 for BIDI_BFS), so bdist[1][u] is the cost of
+        // u's path to the exit without u itself. best is the cheapest start-exit path seen,
+        // crossing from meetFrom (start side) to meetTo (exit side).
+        int[][] bdist, bparent;
+        IndexedMinHeap[] bheap;         // BIDI_DIJKSTRA
+        IntList[] bqueue;               // BIDI_BFS: FIFO, read from bhead
+        int[] bhead;
+        int best = Integer.MAX_VALUE, meetFrom = -1, meetTo = -1;
+
+        // CORRIDOR*: Dijkstra over junction nodes; keys are moves (CORRIDOR) or cost
+        CorridorGraph graph;
+        CorridorGraph.Hookup hook;      // this solve's start/exit on the graph
+        int[] gdist;
+        int[] gparent, gparentEdge;     // node -> parent node / slot it was reached by (~k = hook edge k), -1 = none
+        IndexedMinHeap gheap;
 
         Solver(Maze mz, SolverType type) {
+            this(mz, type, false, false);
+        }
+
+        Solver(Maze mz, SolverType type, boolean markMaze, boolean recordTrace) {
             this.mz = mz;
             this.type = type;
-            visited = new boolean[mz.size][mz.size];
-            parent = new SimpleNode[mz.size][mz.size];
-            dparent = new SimpleNode[mz.size][mz.size];
-
-            if (type == SolverType.BFS || type == SolverType.DFS) {
-                deque = new ArrayDeque<>();
-                deque.add(new SimpleNode(mz.startR, mz.startC, 0));
-                visited[mz.startR][mz.startC] = true;
+            this.markMaze = markMaze;
+            if (recordTrace) explored = new IntList(1024);
+            if (markMaze) {
+                dirty = new IntList(64);
+                overlay = new Overlay(mz.size * mz.size);
+            }
+
+            if (type == SolverType.CORRIDOR || type == SolverType.CORRIDOR_DIJKSTRA) {
+                graph = mz.corridorGraph();
+                hook = graph.hook(mz.id(mz.startR, mz.startC), mz.id(mz.exitR, mz.exitC));
+                steps = hook.walked;
+                int nodes = graph.nodes() + 2;
+                gdist = new int[nodes];
+                gparent = new int[nodes];
+                gparentEdge = new int[nodes];
+                Arrays.fill(gdist, Integer.MAX_VALUE);
+                Arrays.fill(gparent, -1);
+                Arrays.fill(gparentEdge, -1);
+                gheap = new IndexedMinHeap(nodes);
+                if (hook.source >= 0) {
+                    gdist[hook.source] = 0;
+                    gheap.pushOrDecrease(hook.source, 0);
+                }
+            } else if (type == SolverType.BIDI_BFS || type == SolverType.BIDI_DIJKSTRA) {
+                int n = mz.size * mz.size;
+                int[] roots = {mz.startR * mz.size + mz.startC, mz.exitR * mz.size + mz.exitC};
+                bdist = new int[2][n];
+                bparent = new int[2][n];
+                if (type == SolverType.BIDI_BFS) { bqueue = new IntList[2]; bhead = new int[2]; }
+                else bheap = new IndexedMinHeap[2];
+                for (int side=0;side<2;side++) {
+                    Arrays.fill(bdist[side], Integer.MAX_VALUE);
+                    Arrays.fill(bparent[side], -1);
+                    bdist[side][roots[side]] = 0;
+                    if (bqueue != null) {
+                        bqueue[side] = new IntList(1024);
+                        bqueue[side].add(roots[side]);
+                    } else {
+                        bheap[side] = new IndexedMinHeap(n);
+                        bheap[side].pushOrDecrease(roots[side], 0);
+                    }
+                }
+            } else if (type == SolverType.DELTA_STEPPING) {
+                stepping = new DeltaStepping(mz, mz.startR * mz.size + mz.startC, mz.exitR * mz.size + mz.exitC,
+                        DeltaStepping.DEFAULT_DELTA, ForkJoinPool.commonPool());
+                bucketCells = new IntList(256);
+            } else if (type == SolverType.BFS || type == SolverType.DFS) {
+                width = mz.size + 2;
+                offsets = new int[]{-width, width, -1, 1};
+                free = mz.bordered().clone();
+                fringe = new int[1024];
+                mask = fringe.length - 1;
+                from = new int[free.length];
+                int s = (mz.startR + 1) * width + mz.startC + 1;
+                exitAt = (mz.exitR + 1) * width + mz.exitC + 1;
+                from[s] = -1;
+                free[s] = 0;
+                fringe[tail++] = s;
             } else {
-                dist = new double[mz.size][mz.size];
-                for (int r=0;r<mz.size;r++) Arrays.fill(dist[r], Double.POSITIVE_INFINITY);
-                pq = new PriorityQueue<>(Comparator.comparingDouble(n -> n.priority));
-                dist[mz.startR][mz.startC] = 0.0;
-                double h0 = (type == SolverType.ASTAR) ? heuristic(mz.startR, mz.startC) : 0.0;
-                pq.add(new PQNode(mz.startR, mz.startC, 0.0, h0));
+                int n = mz.size * mz.size;
+                useHeuristic = (type == SolverType.ASTAR || type == SolverType.DIAL_ASTAR || type == SolverType.ALT);
+                exitId = mz.exitR * mz.size + mz.exitC;
+                if (type == SolverType.ALT) alt = mz.landmarks();
+                dist = new int[n];
+                dparent = new int[n];
+                Arrays.fill(dist, Integer.MAX_VALUE);
+                Arrays.fill(dparent, -1);
+                int s = mz.startR * mz.size + mz.startC;
+                dist[s] = 0;
+                int h0 = useHeuristic ? heuristic(mz.startR, mz.startC) : 0;
+                if (type == SolverType.DIAL || type == SolverType.DIAL_ASTAR) {
+                    // one relaxation raises the key by at most the largest cost (+1 for the
+                    // Manhattan term under A*), so that many buckets + 1 cover every live key
+                    buckets = new BucketQueue(Maze.MAX_TERRAIN_COST + (useHeuristic ? 2 : 1));
+                    buckets.push(s, h0);
+                } else {
+                    heap = new IndexedMinHeap(n);
+                    heap.pushOrDecrease(s, h0);
+                }
             }
         }
 
-        class SimpleNode {
-            int r,c;
-            int d;
-            SimpleNode(int r,int c,int d){this.r=r;this.c=c;this.d=d;}
+        int heuristic(int r, int c) {
+            int dr = Math.abs(r - mz.exitR);
+            int dc = Math.abs(c - mz.exitC);
+            int h = (dr + dc) * (int) Maze.minPositiveWeight();
+            return alt == null ? h : Math.max(h, alt.bound(r * mz.size + c, exitId));
         }
 
-        class PQNode {
-            int r,c;
-            double priority;
-            double g;
-            PQNode(int r,int c,double g,double h){
-                this.r=r; this.c=c; this.g=g; this.priority=g+h;
+        boolean step() {
+            if (bdist != null) return stepBidirectional();
+            if (graph != null) return stepCorridor();
+            if (fringe != null) return stepFlat();
+            if (stepping != null) return stepDelta();
+
+            // Dijkstra or A*: the heap decreases keys in place, buckets skip superseded entries
+            int cur;
+            if (heap != null) {
+                if (heap.isEmpty()) return true;
+                cur = heap.pop();
+            } else {
+                cur = pollBucket();
+                if (cur < 0) return true;
+            }
+            int r = cur / mz.size, c = cur % mz.size;
+
+            steps++;
+            markExplored(r, c);
+
+            if (r==mz.exitR && c==mz.exitC) {
+                totalWeight = reconstructPath(dparent, cur);
+                found = true;
+                return true;
             }
+
+            int g = dist[cur];
+            for (int[] d : Maze.DIRS4) {
+                int nr = r + d[0], nc = c + d[1];
+                if (!mz.inBounds(nr,nc)) continue;
+                int nid = nr * mz.size + nc;
+                if (!mz.isOpen(nid)) continue;
+
+                int tentative = g + mz.cost(nid);
+                if (tentative < dist[nid]) {
+                    dist[nid] = tentative;
+                    dparent[nid] = cur;
+                    int h = useHeuristic ? heuristic(nr,nc) : 0;
+                    if (heap != null) heap.pushOrDecrease(nid, tentative + h);
+                    else buckets.push(nid, tentative + h);
+                }
+            }
+            return false;
         }
 
-        double heuristic(int r, int c) {
-            int dr = Math.abs(r - mz.exitR);
-            int dc = Math.abs(c - mz.exitC);
-            return (dr + dc) * Maze.minPositiveWeight();
+        // BFS/DFS over the bordered grid, kept apart so the hot loop stays small for the JIT
+        boolean stepFlat() {
+            if (head == tail) return true;
+
+            // BFS: FIFO (queue), DFS: LIFO (stack); both push at the tail
+            int p = type == SolverType.BFS ? fringe[head++ & mask] : fringe[--tail & mask];
+            steps++;
+            if (markMaze || explored != null) markExplored(p / width - 1, p % width - 1);
+
+            if (p == exitAt) {
+                totalWeight = reconstructBordered(p);
+                found = true;
+                return true;
+            }
+
+            for (int k=0;k<4;k++) {
+                int q = p + offsets[k];
+                if (free[q] == 0) continue;   // wall, border or already pushed
+                free[q] = 0;
+                from[q] = p;
+                if (tail - head == fringe.length) growFringe();
+                fringe[tail++ & mask] = q;
+            }
+            return false;
         }
 
-        boolean step() {
-            if (type == SolverType.BFS || type == SolverType.DFS) {
-                if (deque.isEmpty()) return true;
+        // One expansion on the side with the smaller frontier. Stops when topKey(0) + topKey(1)
+        // >= best: any path not yet seen must leave both frontiers, so it costs at least that.
+        // This also stops before a cell could be expanded from both sides.
+        boolean stepBidirectional() {
+            boolean empty0 = frontierSize(0) == 0, empty1 = frontierSize(1) == 0;
+            if (empty0 || empty1 || (long) topKey(0) + topKey(1) >= best) {
+                // an exhausted side has seen its whole component, so best is final either way
+                if (best < Integer.MAX_VALUE) {
+                    IntList back = new IntList(64);
+                    for (int id = meetTo; id >= 0; id = bparent[1][id]) back.add(id);   // meetTo..exit
+                    for (int i=0, j=back.size-1; i<j; i++, j--) { int t = back.a[i]; back.a[i] = back.a[j]; back.a[j] = t; }
+                    for (int id = meetFrom; id >= 0; id = bparent[0][id]) back.add(id); // meetFrom..start
+                    totalWeight = finishPath(back);
+                    found = true;
+                }
+                return true;
+            }
+            int side = frontierSize(0) <= frontierSize(1) ? 0 : 1;
+            int other = 1 - side;
+            int cur;
+            if (bqueue != null) cur = bqueue[side].get(bhead[side]++);
+            else cur = bheap[side].pop();
+            int r = cur / mz.size, c = cur % mz.size;
+
+            steps++;
+            markExplored(r, c);
+
+            int[] dist = bdist[side], par = bparent[side], otherDist = bdist[other];
+            int g = dist[cur];
+            for (int[] d : Maze.DIRS4) {
+                int nr = r + d[0], nc = c + d[1];
+                if (!mz.inBounds(nr,nc)) continue;
+                int nid = nr * mz.size + nc;
+                if (!mz.isOpen(nid)) continue;
+
+                // forward edge cur -> nid costs cost(nid); reversed edge nid -> cur costs cost(cur)
+                int w = bqueue != null ? 1 : mz.cost(side == 0 ? nid : cur);
+                int tentative = g + w;
+                if (otherDist[nid] != Integer.MAX_VALUE && tentative + otherDist[nid] < best) {
+                    best = tentative + otherDist[nid];
+                    meetFrom = side == 0 ? cur : nid;
+                    meetTo = side == 0 ? nid : cur;
+                }
+                if (tentative < dist[nid]) {
+                    dist[nid] = tentative;
+                    par[nid] = cur;
+                    if (bqueue != null) bqueue[side].add(nid);
+                    else bheap[side].pushOrDecrease(nid, tentative);
+                }
+            }
+            return false;
+        }
 
-                SimpleNode cur;
-                // FIX: DFS should pollLast (LIFO behavior)
-                if (type == SolverType.BFS) {
-                    cur = deque.pollFirst();  // BFS: FIFO (queue)
-                } else {
-                    cur = deque.pollLast();   // DFS: LIFO (stack)
+        // One junction per step; `steps` counts junctions plus the cells walked to hook the
+        // start and exit onto the graph, and only junctions are marked EXPLORED.
+        boolean stepCorridor() {
+            if (hook.direct != null) {
+                // both endpoints hang in one pruned tree: its path is the only one. The start is
+                // recorded as the one expansion, so a replay has a position before the path.
+                markExplored(mz.startR, mz.startC);
+                IntList back = new IntList(hook.direct.length);
+                for (int i=hook.direct.length-1;i>=0;i--) back.add(hook.direct[i]);
+                totalWeight = finishPath(back);
+                found = true;
+                return true;
+            }
+            if (gheap.isEmpty()) return true;
+            int u = gheap.pop();
+            steps++;
+            int cell = graph.cellOf(hook, u);
+            markExplored(cell / mz.size, cell % mz.size);
+
+            if (u == hook.target) {
+                // node chain exit..start, then start chain, each edge walked forward, exit chain back
+                IntList nodes = new IntList(64);
+                for (int v = u; gparent[v] >= 0; v = gparent[v]) nodes.add(v);
+                IntList cells = new IntList(64);
+                for (int i=0;i<hook.startChain.size;i++) cells.add(hook.startChain.a[i]);
+                for (int i=nodes.size-1;i>=0;i--) {
+                    int v = nodes.get(i), e = gparentEdge[v];
+                    if (e >= 0) graph.appendEdgeCells(gparent[v], e, cells);
+                    else for (int id : hook.cells.get(~e)) cells.add(id);
                 }
+                for (int i=hook.exitChain.size-2;i>=0;i--) cells.add(hook.exitChain.a[i]);
+                IntList back = new IntList(cells.size);
+                for (int i=cells.size-1;i>=0;i--) back.add(cells.get(i));
+                totalWeight = finishPath(back);
+                found = true;
+                return true;
+            }
+
+            boolean byMoves = type == SolverType.CORRIDOR;
+            int g = gdist[u];
+            if (u < graph.nodes()) {
+                int[] w = byMoves ? graph.adjLen : graph.adjCost;
+                for (int e=graph.adjStart[u]; e<graph.adjStart[u+1]; e++) relaxCorridor(u, graph.adjTo[e], g + w[e], e);
+            }
+            for (int k=0;k<hook.from.size;k++) {
+                if (hook.from.a[k] == u) relaxCorridor(u, hook.to.a[k], g + (byMoves ? hook.len.a[k] : hook.cost.a[k]), ~k);
+            }
+            return false;
+        }
+
+        void relaxCorridor(int u, int v, int tentative, int edge) {
+            if (tentative < gdist[v]) {
+                gdist[v] = tentative;
+                gparent[v] = u;
+                gparentEdge[v] = edge;
+                gheap.pushOrDecrease(v, tentative);
+            }
+        }
+
+        int frontierSize(int side) {
+            return bqueue != null ? bqueue[side].size - bhead[side] : bheap[side].size;
+        }
+
+        int topKey(int side) {
+            return bqueue != null ? bdist[side][bqueue[side].get(bhead[side])] : bheap[side].peekKey();
+        }
 
-                if (cur == null) return true;
-                steps++;
-                int r = cur.r, c = cur.c;
+        // bucket entries are never removed on improvement; an entry is live only if its
+        // key still matches dist (+h), otherwise a cheaper copy was already settled
+        int pollBucket() {
+            while (!buckets.isEmpty()) {
+                int id = buckets.pop();
+                int h = useHeuristic ? heuristic(id / mz.size, id % mz.size) : 0;
+                if (buckets.lastKey == dist[id] + h) return id;
+            }
+            return -1;
+        }
+
+        // Shows the marks as of now (GUI mode); call after step(), before repainting `dirty`.
+        void publish() { mz.publish(overlay.snapshot()); }
+
+        void markExplored(int r, int c) {
+            int id = r * mz.size + c;
+            if (explored != null) explored.add(id);
+            if (!markMaze) return;
+            int st = mz.state(id);
+            if (st != Maze.START && st != Maze.EXIT) {
+                overlay.set(id, Maze.EXPLORED);
+                dirty.add(id);
+            }
+        }
+
+        // One distance bucket per step; every relaxation counts as an expansion.
+        boolean stepDelta() {
+            IntList cells = bucketCells;
+            cells.clear();
+            boolean finished = stepping.drainBucket(cells);
+            steps += cells.size;
+            if (markMaze || explored != null) {
+                for (int i=0;i<cells.size;i++) markExplored(cells.a[i] / mz.size, cells.a[i] % mz.size);
+            }
+            if (finished && stepping.found()) {
+                totalWeight = finishPath(stepping.pathBack());
+                found = true;
+            }
+            return finished;
+        }
+
+        void growFringe() {
+            int[] a = new int[fringe.length * 2];
+            int m = a.length - 1;
+            for (int i=head;i<tail;i++) a[i & m] = fringe[i & mask];
+            fringe = a;
+            mask = m;
+        }
+
+        // BFS/DFS variant: walks `from` and maps bordered ids back to maze ids
+        double reconstructBordered(int end) {
+            IntList back = new IntList(64);
+            for (int p = end; p >= 0; p = from[p]) back.add((p / width - 1) * mz.size + p % width - 1);
+            return finishPath(back);
+        }
 
-                if (mz.state[r][c] != Maze.START && mz.state[r][c] != Maze.EXIT) {
-                    mz.state[r][c] = Maze.EXPLORED;
+        // flat variant for the Dijkstra/A* parent array (-1 terminates)
+        double reconstructPath(int[] parentArr, int end) {
+            IntList back = new IntList(64);
+            for (int id = end; id >= 0; id = parentArr[id]) back.add(id);
+            return finishPath(back);
+        }
+
+        // `back` runs exit..start; stores `path` in start..exit order and returns its weight
+        double finishPath(IntList back) {
+            int n = back.size;
+            path = new int[n];
+            int sum = 0;
+            for (int i=0;i<n;i++) {
+                int id = back.a[n - 1 - i];
+                path[i] = id;
+                int st = mz.state(id);
+                if (markMaze && st != Maze.START && st != Maze.EXIT) {
+                    overlay.set(id, Maze.SOLUTION);
+                    dirty.add(id);
                 }
+                sum += mz.cost(id);
+            }
 
-                if (r==mz.exitR && c==mz.exitC) {
-                    totalWeight = reconstructPath(parent, cur);
-                    found = true;
-                    return true;
+            shortestPathSteps = Math.max(0, n - 1);
+            return sum;
+        }
+
+        SolveResult result() {
+            SolveResult res = new SolveResult();
+            res.type = type;
+            res.found = found;
+            res.steps = steps;
+            res.shortestPathSteps = shortestPathSteps;
+            res.totalWeight = totalWeight;
+            res.path = found ? path : new int[0];
+            res.explored = explored != null ? explored.toArray() : null;
+            return res;
+        }
+
+        // Headless batch solve: tight step() loop, Maze.state is only read.
+        static SolveResult solve(Maze mz, SolverType type) {
+            return solve(mz, type, false);
+        }
+
+        static SolveResult solve(Maze mz, SolverType type, boolean recordTrace) {
+            Solver s = new Solver(mz, type, false, recordTrace);
+            while (!s.step()) { }
+            return s.result();
+        }
+    }
+
+    /* ===========================
+       Bit-parallel reachability over Maze.openBits()
+       - flood() answers "which cells can the source reach" 64 cells per operation: a
+         word's seeds grow to their whole open runs at once, then spill into the words
+         above, below and beside; no distances, so no wave order to keep
+       - measured with ReachabilityBench: 9-20x faster than a per-cell queue BFS on
+         corridors and open grids alike
+       - shortest paths stay with the queue solvers: a BFS wave is a diamond, about two
+         cells per row, and labelling waves word by word (the former BIT_BFS solver) was
+         slower than plain BFS even on open grids
+       =========================== */
+    static final class BitBfs {
+        // Reachability: a word's pending seeds grow to their full open runs with
+        // Kogge-Stone doubling (6 steps each way), then spill into the words above, below and
+        // beside. Returns the seen bitset, or null if `target` (>= 0) is not reachable;
+        // stops as soon as the target is seen.
+        static long[] flood(Maze mz, int source, int target) {
+            int size = mz.size, words = (size + 63) >>> 6;
+            long[] open = mz.openBits(), seen = new long[open.length], pending = new long[open.length];
+            IntList work = new IntList(256);
+            int k0 = source / size * words + (source % size >>> 6);
+            pending[k0] = 1L << source % size;
+            work.add(k0);
+            int kt = target < 0 ? -1 : target / size * words + (target % size >>> 6);
+            long bt = target < 0 ? 0 : 1L << target % size;
+            while (work.size > 0) {
+                int k = work.a[--work.size];
+                long m = open[k];
+                long s = pending[k] & m & ~seen[k];
+                pending[k] = 0;
+                if (s == 0) continue;
+                long f = fillUp(s, m) | fillDown(s, m);
+                long fresh = f & ~seen[k];
+                seen[k] |= fresh;
+                if (k == kt && (seen[k] & bt) != 0) return seen;
+                int j = k % words;
+                if (k >= words) spill(pending, work, k - words, fresh);
+                if (k + words < open.length) spill(pending, work, k + words, fresh);
+                if (j + 1 < words && fresh < 0) spill(pending, work, k + 1, 1L);
+                if (j > 0 && (fresh & 1) != 0) spill(pending, work, k - 1, 1L << 63);
+            }
+            return target < 0 ? seen : null;
+        }
+
+        static void spill(long[] pending, IntList work, int k, long bits) {
+            if (pending[k] == 0) work.add(k);
+            pending[k] |= bits;
+        }
+
+        // bits of m reachable from s through unbroken runs of m, towards bit 63 / bit 0
+        static long fillUp(long g, long p) {
+            g |= p & g << 1;  p &= p << 1;
+            g |= p & g << 2;  p &= p << 2;
+            g |= p & g << 4;  p &= p << 4;
+            g |= p & g << 8;  p &= p << 8;
+            g |= p & g << 16; p &= p << 16;
+            return g | p & g << 32;
+        }
+
+        static long fillDown(long g, long p) {
+            g |= p & g >>> 1;  p &= p >>> 1;
+            g |= p & g >>> 2;  p &= p >>> 2;
+            g |= p & g >>> 4;  p &= p >>> 4;
+            g |= p & g >>> 8;  p &= p >>> 8;
+            g |= p & g >>> 16; p &= p >>> 16;
+            return g | p & g >>> 32;
+        }
+    }
+
+    /* ===========================
+       Corridor graph: the maze with every corridor collapsed into one edge
+       - depends on the layout only, so one graph serves every start/exit pair
+       - dead ends are pruned first: a cell with at most one live neighbour can only be
+         passed through to reach itself, so it is dropped, repeatedly; each dropped cell
+         keeps the direction of the neighbour it hung from (toward), so a chain of them
+         leads back to the core. In a perfect maze the whole grid is pruned.
+       - nodes are the core cells whose live-neighbour count is not 2 (junctions), plus
+         one cell on every ring that has no junction at all
+       - an edge is the run of corridor cells between two nodes; it stores its length in
+         moves and, per direction, the summed terrain cost of the cells it enters
+       - adjacency is CSR (adjStart/adjTo/...); adjFirst is the first cell after leaving the
+         source node, which is all that is needed to walk an edge back into cells
+       - hook() attaches one start/exit pair per solve: walks their chains to the core and,
+         off a junction, along their corridor to the nearest nodes (virtual edges)
+       - built once per layout (Maze.corridorGraph() caches it); buildNanos keeps its cost
+       =========================== */
+    static final class CorridorGraph {
+        final Maze mz;
+        final int size;
+        final byte[] degree;            // live open neighbours, -1 = wall or pruned
+        final byte[] toward;            // pruned cell -> DIRS4 index it hung from, -1 = none
+        final int[] nodeOf;             // cell id -> node, -1 for everything else
+        final int[] cellOf;             // node -> cell id
+        final int[] adjStart;           // node -> first adjacency slot, length nodes + 1
+        final int[] adjTo, adjLen, adjCost, adjFirst;
+        final long buildNanos;
+
+        CorridorGraph(Maze mz) {
+            long t0 = System.nanoTime();
+            this.mz = mz;
+            size = mz.size;
+            int n = size * size;
+
+            degree = new byte[n];
+            toward = new byte[n];
+            Arrays.fill(toward, (byte) -1);
+            IntList dead = new IntList(1024);
+            for (int id=0;id<n;id++) {
+                degree[id] = (byte) (mz.isOpen(id) ? openNeighbours(id) : -1);
+                if (degree[id] >= 0 && degree[id] <= 1) dead.add(id);
+            }
+            while (dead.size > 0) {
+                int id = dead.a[--dead.size];
+                if (degree[id] < 0) continue;
+                degree[id] = -1;
+                int r = id / size, c = id % size;
+                for (int d=0;d<4;d++) {
+                    int nr = r + Maze.DIRS4[d][0], nc = c + Maze.DIRS4[d][1];
+                    if (!mz.inBounds(nr,nc)) continue;
+                    int nb = nr * size + nc;
+                    if (degree[nb] < 0) continue;
+                    toward[id] = (byte) d;
+                    if (--degree[nb] <= 1) dead.add(nb);
                 }
+            }
 
+            nodeOf = new int[n];
+            Arrays.fill(nodeOf, -1);
+            IntList cells = new IntList(1024);
+            for (int id=0;id<n;id++) {
+                if (degree[id] >= 0 && degree[id] != 2) {
+                    nodeOf[id] = cells.size;
+                    cells.add(id);
+                }
+            }
+            // a ring of corridor cells with no junction still needs one node
+            long[] walked = new long[(n + 63) >>> 6];
+            for (int id=0;id<n;id++) {
+                if (degree[id] != 2 || nodeOf[id] >= 0 || (walked[id >>> 6] & 1L << id) != 0) continue;
+                int prev = id, cur = anyLive(id);
+                while (nodeOf[cur] < 0 && cur != id && (walked[cur >>> 6] & 1L << cur) == 0) {
+                    walked[cur >>> 6] |= 1L << cur;
+                    int step = corridorNext(cur, prev);
+                    prev = cur;
+                    cur = step;
+                }
+                walked[id >>> 6] |= 1L << id;
+                if (cur == id) {
+                    nodeOf[id] = cells.size;
+                    cells.add(id);
+                }
+            }
+            cellOf = cells.toArray();
+
+            adjStart = new int[cellOf.length + 1];
+            IntList to = new IntList(cellOf.length * 3), len = new IntList(cellOf.length * 3);
+            IntList cost = new IntList(cellOf.length * 3), first = new IntList(cellOf.length * 3);
+            for (int u=0;u<cellOf.length;u++) {
+                adjStart[u] = to.size;
+                int from = cellOf[u];
                 for (int[] d : Maze.DIRS4) {
-                    int nr = r + d[0], nc = c + d[1];
+                    int nr = from / size + d[0], nc = from % size + d[1];
                     if (!mz.inBounds(nr,nc)) continue;
-                    if (mz.state[nr][nc] == Maze.WALL) continue;
-                    if (visited[nr][nc]) continue;
+                    int next = nr * size + nc;
+                    if (degree[next] < 0) continue;
+                    // follow the corridor to the next node
+                    int prev = from, cur = next, moves = 1, sum = mz.cost(next);
+                    while (nodeOf[cur] < 0) {
+                        int step = corridorNext(cur, prev);
+                        prev = cur;
+                        cur = step;
+                        moves++;
+                        sum += mz.cost(cur);
+                    }
+                    if (cur == from) continue;   // loop back to the same node: never on a shortest path
+                    to.add(nodeOf[cur]);
+                    len.add(moves);
+                    cost.add(sum);
+                    first.add(next);
+                }
+            }
+            adjStart[cellOf.length] = to.size;
+            adjTo = to.toArray();
+            adjLen = len.toArray();
+            adjCost = cost.toArray();
+            adjFirst = first.toArray();
+            buildNanos = System.nanoTime() - t0;
+        }
+
+        int nodes() { return cellOf.length; }
+
+        int openNeighbours(int id) {
+            int r = id / size, c = id % size, k = 0;
+            for (int[] d : Maze.DIRS4) {
+                int nr = r + d[0], nc = c + d[1];
+                if (mz.inBounds(nr,nc) && mz.isOpen(nr * size + nc)) k++;
+            }
+            return k;
+        }
+
+        // some live neighbour of core cell `id`
+        int anyLive(int id) {
+            return corridorNext(id, -1);
+        }
+
+        // the live neighbour of corridor cell `cur` that is not `prev`
+        int corridorNext(int cur, int prev) {
+            int r = cur / size, c = cur % size;
+            for (int[] d : Maze.DIRS4) {
+                int nr = r + d[0], nc = c + d[1];
+                if (!mz.inBounds(nr,nc)) continue;
+                int id = nr * size + nc;
+                if (id != prev && degree[id] >= 0) return id;
+            }
+            throw new IllegalStateException("not a corridor cell: " + cur);
+        }
+
+        // Appends the cells of adjacency slot e, after its source node u, up to its target node.
+        void appendEdgeCells(int u, int e, IntList out) {
+            int prev = cellOf[u], cur = adjFirst[e];
+            out.add(cur);
+            while (nodeOf[cur] < 0) {
+                int step = corridorNext(cur, prev);
+                prev = cur;
+                cur = step;
+                out.add(cur);
+            }
+        }
 
-                    visited[nr][nc] = true;
-                    parent[nr][nc] = cur;
+        // Appends `id` and the pruned cells it hangs from, up to and including its core cell;
+        // false if the chain ends without reaching the core (a component that is all tree).
+        boolean chain(int id, IntList out) {
+            out.add(id);
+            while (degree[id] < 0) {
+                int d = toward[id];
+                if (d < 0) return false;
+                id = (id / size + Maze.DIRS4[d][0]) * size + id % size + Maze.DIRS4[d][1];
+                out.add(id);
+            }
+            return true;
+        }
 
+        /* One start/exit pair on the graph. Nodes nodes() and nodes()+1 stand for start and
+           exit cells that are not junctions; their edges (from/to/len/cost, cells excluding
+           the source) are walked here. `walked` counts every cell this took. */
+        static final class Hookup {
+            final IntList startChain = new IntList(16), exitChain = new IntList(16);  // endpoint..core
+            int source = -1, target = -1;       // nodes to search between, -1 = no path
+            int startCell, exitCell;            // core cells of the two chains
+            int[] direct;                       // start..exit when both hang in one tree
+            final IntList from = new IntList(8), to = new IntList(8), len = new IntList(8), cost = new IntList(8);
+            final List<int[]> cells = new ArrayList<>(8);
+            int walked;
+        }
 
-                    // BFS: pollFirst + addLast = FIFO ✓
-                    // DFS: pollLast + addLast = LIFO ✓
-                    deque.addLast(new SimpleNode(nr,nc,cur.d+1));
+        Hookup hook(int startId, int exitId) {
+            Hookup h = new Hookup();
+            boolean startCore = chain(startId, h.startChain), exitCore = chain(exitId, h.exitChain);
+            h.walked = h.startChain.size + h.exitChain.size;
+            // chains that meet: the tree path through the first shared cell is the only one
+            long[] onStart = new long[(size * size + 63) >>> 6];
+            for (int i=0;i<h.startChain.size;i++) { int id = h.startChain.a[i]; onStart[id >>> 6] |= 1L << id; }
+            for (int j=0;j<h.exitChain.size;j++) {
+                int x = h.exitChain.a[j];
+                if ((onStart[x >>> 6] & 1L << x) == 0) continue;
+                int i = 0;
+                while (h.startChain.a[i] != x) i++;
+                h.direct = new int[i + 1 + j];
+                System.arraycopy(h.startChain.a, 0, h.direct, 0, i + 1);
+                for (int k=0;k<j;k++) h.direct[i + 1 + k] = h.exitChain.a[j - 1 - k];
+                return h;
+            }
+            if (!startCore || !exitCore) return h;
+
+            int cs = h.startChain.a[h.startChain.size - 1], ce = h.exitChain.a[h.exitChain.size - 1];
+            h.startCell = cs;
+            h.exitCell = ce;
+            h.source = nodeOf[cs] >= 0 ? nodeOf[cs] : nodes();
+            h.target = nodeOf[ce] >= 0 ? nodeOf[ce] : nodes() + 1;
+            IntList run = new IntList(64);
+            if (nodeOf[cs] < 0) {
+                // both ways along the start's corridor: to a node, or straight to the exit
+                for (int first = anyLive(cs), k = 0; k < 2; k++, first = corridorNext(cs, first)) {
+                    run.clear();
+                    int prev = cs, cur = first, sum = mz.cost(cur);
+                    run.add(cur);
+                    while (nodeOf[cur] < 0 && cur != ce) {
+                        int step = corridorNext(cur, prev);
+                        prev = cur;
+                        cur = step;
+                        run.add(cur);
+                        sum += mz.cost(cur);
+                    }
+                    h.walked += run.size;
+                    addEdge(h, h.source, cur == ce ? h.target : nodeOf[cur], run.size, sum, run.toArray());
                 }
-                return false;
+            }
+            if (nodeOf[ce] < 0) {
+                // both ways along the exit's corridor, stored reversed as edges into the exit
+                for (int first = anyLive(ce), k = 0; k < 2; k++, first = corridorNext(ce, first)) {
+                    run.clear();
+                    int prev = ce, cur = first;
+                    run.add(cur);
+                    while (nodeOf[cur] < 0 && cur != cs) {
+                        int step = corridorNext(cur, prev);
+                        prev = cur;
+                        cur = step;
+                        run.add(cur);
+                    }
+                    h.walked += run.size;
+                    if (cur == cs && nodeOf[cs] < 0) continue;   // added from the start side
+                    int[] in = new int[run.size];
+                    int sum = 0;
+                    for (int i=0;i<run.size-1;i++) { in[i] = run.a[run.size - 2 - i]; sum += mz.cost(in[i]); }
+                    in[run.size - 1] = ce;
+                    sum += mz.cost(ce);
+                    addEdge(h, nodeOf[cur], h.target, run.size, sum, in);
+                }
+            }
+            return h;
+        }
 
-            } else {
-                // Dijkstra or A* - unchanged
-                while (!pq.isEmpty()) {
-                    PQNode top = pq.poll();
-                    int r = top.r, c = top.c;
+        static void addEdge(Hookup h, int from, int to, int len, int cost, int[] cells) {
+            h.from.add(from);
+            h.to.add(to);
+            h.len.add(len);
+            h.cost.add(cost);
+            h.cells.add(cells);
+        }
 
-                    if (top.g > dist[r][c] + 1e-9) {
-                        continue;
+        // cell of a search node, virtual start/exit included
+        int cellOf(Hookup h, int u) {
+            return u < nodes() ? cellOf[u] : u == nodes() ? h.startCell : h.exitCell;
+        }
+    }
+
+    /* ===========================
+       Landmarks for the ALT heuristic (A*, Landmarks, Triangle inequality)
+       - K landmark cells spread around the inner border ring; one full Dijkstra per
+         landmark, run in parallel, dist[k][v] = d(landmark k -> v) as int[]
+       - entering a cell costs its terrain, so d(v -> L) = d(L -> v) - cost(v) + cost(L):
+         one forward pass per landmark gives both directions
+       - bound(v, t) = max over landmarks of d(L,t) - d(L,v) and d(v,L) - d(t,L); each is a
+         consistent lower bound on d(v -> t), so A* stays optimal with the max of them
+       - independent of start/exit: built once per layout and shared by every query
+         (Maze.landmarks() caches it)
+       =========================== */
+    static final class Landmarks {
+        static final int DEFAULT_COUNT = 8;
+
+        final Maze mz;
+        final int[] cells;              // landmark cell ids
+        final int[][] dist;             // [landmark][cell], Integer.MAX_VALUE = unreachable
+        final long buildNanos;
+
+        Landmarks(Maze mz, int count, ForkJoinPool pool) {
+            long t0 = System.nanoTime();
+            this.mz = mz;
+            cells = pick(mz, count);
+            dist = new int[cells.length][];
+            List<Callable<Void>> jobs = new ArrayList<>();
+            for (int k=0;k<cells.length;k++) {
+                int landmark = k;
+                jobs.add(() -> {
+                    dist[landmark] = dijkstraFrom(mz, cells[landmark]);
+                    return null;
+                });
+            }
+            try {
+                for (Future<Void> f : pool.invokeAll(jobs)) f.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("landmark build interrupted", ex);
+            } catch (ExecutionException ex) {
+                throw new IllegalStateException("landmark build failed", ex.getCause());
+            }
+            buildNanos = System.nanoTime() - t0;
+        }
+
+        // Open cells near `count` points evenly spaced around the ring r/c in {1, size-2}.
+        static int[] pick(Maze mz, int count) {
+            int lo = 1, hi = mz.size - 2, side = hi - lo;
+            IntList out = new IntList(count);
+            for (int k=0;k<count;k++) {
+                int p = (int) ((long) k * 4 * side / count);
+                int r, c;
+                if (p < side) { r = lo; c = lo + p; }
+                else if (p < 2 * side) { r = lo + p - side; c = hi; }
+                else if (p < 3 * side) { r = hi; c = hi - (p - 2 * side); }
+                else { r = hi - (p - 3 * side); c = lo; }
+                int id = nearestOpen(mz, r, c);
+                if (id < 0) continue;
+                boolean dup = false;
+                for (int i=0;i<out.size;i++) dup |= out.get(i) == id;
+                if (!dup) out.add(id);
+            }
+            return out.toArray();
+        }
+
+        // first open cell in growing square rings around (r, c), -1 if there is none
+        static int nearestOpen(Maze mz, int r, int c) {
+            for (int d=0; d<mz.size; d++) {
+                for (int rr=r-d; rr<=r+d; rr++) {
+                    for (int cc=c-d; cc<=c+d; cc++) {
+                        if (Math.max(Math.abs(rr - r), Math.abs(cc - c)) != d) continue;
+                        if (mz.inBounds(rr,cc) && mz.isOpen(rr * mz.size + cc)) return rr * mz.size + cc;
                     }
+                }
+            }
+            return -1;
+        }
 
-                    steps++;
-                    if (mz.state[r][c] != Maze.START && mz.state[r][c] != Maze.EXIT) {
-                        mz.state[r][c] = Maze.EXPLORED;
+        static int[] dijkstraFrom(Maze mz, int source) {
+            int n = mz.size * mz.size;
+            int[] d = new int[n];
+            Arrays.fill(d, Integer.MAX_VALUE);
+            d[source] = 0;
+            IndexedMinHeap heap = new IndexedMinHeap(n);
+            heap.pushOrDecrease(source, 0);
+            while (!heap.isEmpty()) {
+                int cur = heap.pop();
+                int r = cur / mz.size, c = cur % mz.size, g = d[cur];
+                for (int[] dir : Maze.DIRS4) {
+                    int nr = r + dir[0], nc = c + dir[1];
+                    if (!mz.inBounds(nr,nc)) continue;
+                    int nid = nr * mz.size + nc;
+                    if (!mz.isOpen(nid)) continue;
+                    int t = g + mz.cost(nid);
+                    if (t < d[nid]) {
+                        d[nid] = t;
+                        heap.pushOrDecrease(nid, t);
+                    }
+                }
+            }
+            return d;
+        }
+
+        // Lower bound on d(v -> t); 0 when a landmark sees neither (other component).
+        int bound(int v, int t) {
+            int best = 0;
+            int dv = mz.cost(v) - mz.cost(t);
+            for (int[] d : dist) {
+                int lv = d[v], lt = d[t];
+                if (lv == Integer.MAX_VALUE || lt == Integer.MAX_VALUE) continue;
+                best = Math.max(best, Math.max(lt - lv, lv - lt - dv));
+            }
+            return best;
+        }
+    }
+
+    /* ===========================
+       Delta-stepping: Dijkstra by distance buckets, each bucket relaxed on a ForkJoinPool
+       - bucket i holds cells with dist in [i*delta, (i+1)*delta); delta >= MAX_TERRAIN_COST,
+         so a relaxation lands in the current bucket or the next one and two lists suffice
+       - a bucket is drained in phases: cells whose distance changed since they were last
+         relaxed are split into chunks and relaxed in parallel, dist lowered by CAS
+         (AtomicIntegerArray); cells that improved form the next phase (or bucket)
+       - once bucket i is empty, every dist below (i+1)*delta is final: the exit is done
+         when its distance is below that bound
+       - the path is read back from dist alone (a neighbour u with dist[u] + cost(v) ==
+         dist[v]), so there is no racy parent array; the weight equals Dijkstra's exactly
+       - relaxation order inside a phase depends on scheduling; distances and steps do not
+       =========================== */
+    static final class DeltaStepping {
+        static final int DEFAULT_DELTA = 2 * Maze.MAX_TERRAIN_COST;
+        static final int CHUNK = 512;   // smaller phases are relaxed on the calling thread
+
+        final Maze mz;
+        final int source, target, delta;
+        final ForkJoinPool pool;
+        final AtomicIntegerArray dist;
+        final int[] relaxedAt;          // dist a cell was last relaxed at, -1 = never
+        IntList current = new IntList(256), next = new IntList(256);
+        final IntList frontier = new IntList(256);
+        int bucket;
+        boolean done;
+
+        DeltaStepping(Maze mz, int source, int target, int delta, ForkJoinPool pool) {
+            if (delta < Maze.MAX_TERRAIN_COST) {
+                throw new IllegalArgumentException("delta " + delta + " < largest step cost " + Maze.MAX_TERRAIN_COST);
+            }
+            this.mz = mz;
+            this.source = source;
+            this.target = target;
+            this.delta = delta;
+            this.pool = pool;
+            int n = mz.size * mz.size;
+            dist = new AtomicIntegerArray(n);
+            for (int i=0;i<n;i++) dist.lazySet(i, Integer.MAX_VALUE);
+            dist.set(source, 0);
+            relaxedAt = new int[n];
+            Arrays.fill(relaxedAt, -1);
+            current.add(source);
+        }
+
+        boolean found() { return dist.get(target) != Integer.MAX_VALUE; }
+
+        // Drains one bucket; the cells relaxed go to `out` if not null. True once finished.
+        boolean drainBucket(IntList out) {
+            if (done) return true;
+            long bound = (long) (bucket + 1) * delta;
+            while (current.size > 0) {
+                frontier.clear();
+                for (int i=0;i<current.size;i++) {
+                    int v = current.a[i];
+                    int d = dist.get(v);
+                    if (relaxedAt[v] == d) continue;    // already relaxed at this distance
+                    relaxedAt[v] = d;
+                    frontier.add(v);
+                    if (out != null) out.add(v);
+                }
+                current.clear();
+                for (IntList improved : relaxAll()) {
+                    for (int i=0;i<improved.size;i++) {
+                        int w = improved.a[i];
+                        (dist.get(w) < bound ? current : next).add(w);
+                    }
+                }
+            }
+            IntList t = current;
+            current = next;
+            next = t;
+            bucket++;
+            done = dist.get(target) < bound || current.size == 0;
+            return done;
+        }
+
+        List<IntList> relaxAll() {
+            int n = frontier.size;
+            if (n <= CHUNK) return Collections.singletonList(relax(0, n));
+            List<Callable<IntList>> jobs = new ArrayList<>();
+            for (int lo=0;lo<n;lo+=CHUNK) {
+                int from = lo, to = Math.min(n, lo + CHUNK);
+                jobs.add(() -> relax(from, to));
+            }
+            List<IntList> out = new ArrayList<>(jobs.size());
+            try {
+                for (Future<IntList> f : pool.invokeAll(jobs)) out.add(f.get());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("delta-stepping interrupted", ex);
+            } catch (ExecutionException ex) {
+                throw new IllegalStateException("delta-stepping failed", ex.getCause());
+            }
+            return out;
+        }
+
+        // Relaxes frontier[from, to); returns the neighbours whose distance this call lowered.
+        IntList relax(int from, int to) {
+            IntList improved = new IntList(to - from);
+            int size = mz.size;
+            for (int i=from;i<to;i++) {
+                int v = frontier.a[i];
+                int d = relaxedAt[v];
+                int r = v / size, c = v % size;
+                for (int[] dir : Maze.DIRS4) {
+                    int nr = r + dir[0], nc = c + dir[1];
+                    if (!mz.inBounds(nr, nc)) continue;
+                    int w = nr * size + nc;
+                    if (!mz.isOpen(w)) continue;
+                    int nd = d + mz.cost(w);
+                    int cur = dist.get(w);
+                    while (nd < cur) {
+                        if (dist.compareAndSet(w, cur, nd)) {
+                            improved.add(w);
+                            break;
+                        }
+                        cur = dist.get(w);
+                    }
+                }
+            }
+            return improved;
+        }
+
+        // target..source flat ids through neighbours on a shortest path, in Maze.DIRS4 order
+        IntList pathBack() {
+            IntList back = new IntList(64);
+            int v = target;
+            back.add(v);
+            while (v != source) {
+                int r = v / mz.size, c = v % mz.size, dv = dist.get(v) - mz.cost(v);
+                for (int[] dir : Maze.DIRS4) {
+                    int nr = r + dir[0], nc = c + dir[1];
+                    if (mz.inBounds(nr, nc) && mz.isOpen(nr * mz.size + nc) && dist.get(nr * mz.size + nc) == dv) {
+                        v = nr * mz.size + nc;
+                        break;
                     }
+                }
+                back.add(v);
+            }
+            return back;
+        }
+    }
 
-                    if (r==mz.exitR && c==mz.exitC) {
-                        totalWeight = reconstructPath(dparent, new SimpleNode(r,c,0));
-                        found = true;
-                        return true;
+    /* ===========================
+       Flow field: weighted distance to the nearest target from every cell, plus the step to take
+       - one multi-source Dijkstra over reversed edges: all targets start at 0 and moving
+         u -> v costs cost(v), the usual "pay for the cell you enter"
+       - dist is an int[] (Integer.MAX_VALUE = cannot reach a target), dir a byte[] holding
+         the Maze.DIRS4 index of the next step (NONE on targets and unreachable cells)
+       - pathFrom(start) just follows dir: O(path length), no search; its weight (start
+         included) equals a Solver DIJKSTRA solve from the same start
+       - cached on the maze by Maze.flowField(targets) until walls or terrain change
+       =========================== */
+    static final class FlowField {
+        static final byte NONE = -1;
+        static final int CACHED = 4;
+
+        final Maze mz;
+        final int layoutVersion;
+        final int[] targets;            // sorted, distinct
+        final int[] dist;
+        final byte[] dir;
+        final long buildNanos;
+
+        FlowField(Maze mz, int... targets) {
+            long t0 = System.nanoTime();
+            this.mz = mz;
+            layoutVersion = mz.layoutVersion;
+            this.targets = key(targets);
+            int n = mz.size * mz.size;
+            dist = new int[n];
+            dir = new byte[n];
+            Arrays.fill(dist, Integer.MAX_VALUE);
+            Arrays.fill(dir, NONE);
+            IndexedMinHeap heap = new IndexedMinHeap(n);
+            for (int t : this.targets) {
+                dist[t] = 0;
+                heap.pushOrDecrease(t, 0);
+            }
+            while (!heap.isEmpty()) {
+                int v = heap.pop();
+                int r = v / mz.size, c = v % mz.size;
+                int g = dist[v] + mz.cost(v);
+                for (int k=0;k<4;k++) {
+                    int nr = r + Maze.DIRS4[k][0], nc = c + Maze.DIRS4[k][1];
+                    if (!mz.inBounds(nr,nc)) continue;
+                    int u = nr * mz.size + nc;
+                    if (!mz.isOpen(u) || g >= dist[u]) continue;
+                    dist[u] = g;
+                    dir[u] = (byte) (k ^ 1);    // DIRS4 pairs up/down and left/right: k ^ 1 points back at v
+                    heap.pushOrDecrease(u, g);
+                }
+            }
+            buildNanos = System.nanoTime() - t0;
+        }
+
+        boolean matches(Maze m, int[] targets) {
+            return m == mz && layoutVersion == m.layoutVersion
+                    && Arrays.equals(this.targets, key(targets));
+        }
+
+        // cache key: the targets sorted, without duplicates
+        static int[] key(int[] targets) {
+            int[] k = targets.clone();
+            Arrays.sort(k);
+            int n = 0;
+            for (int i=0;i<k.length;i++) if (n == 0 || k[i] != k[n - 1]) k[n++] = k[i];
+            return Arrays.copyOf(k, n);
+        }
+
+        boolean reachable(int id) { return dist[id] != Integer.MAX_VALUE; }
+
+        // Next cell towards the nearest target, -1 on a target or where none is reachable.
+        int next(int id) {
+            int k = dir[id];
+            if (k == NONE) return -1;
+            return id + Maze.DIRS4[k][0] * mz.size + Maze.DIRS4[k][1];
+        }
+
+        // start..target flat ids, empty when no target is reachable
+        int[] pathFrom(int start) {
+            if (!reachable(start)) return new int[0];
+            IntList path = new IntList(64);
+            for (int id = start; id >= 0; id = next(id)) path.add(id);
+            return path.toArray();
+        }
+    }
+
+    /* ===========================
+       Multi-query service: many (start, exit) solves against one Maze
+       - the maze must not change while queries run; they only read it
+       - a query borrows a Workspace from the service's own idle queue and hands it back
+         afterwards. dist/parent entries are valid only where seen[id] == stamp, so a new
+         query bumps the stamp instead of refilling size*size arrays; the heap resets only
+         the slots it used
+       - the queue holds at most pool parallelism + 1 workspaces (about 16 B per cell
+         each); extras made under contention are dropped on release. close() empties it,
+         so nothing outlives the service on the pool's threads
+       - solveAll() spreads queries over a ForkJoinPool in chunks of CHUNK
+       - headless like Solver.solve(): no marks, no trace; BFS, DIJKSTRA, ASTAR and ALT
+       - every query still walks the grid cell by cell, so its cost grows with the part
+         of the maze it explores: random pairs on a 1001 maze run at a few hundred per
+         second per core, and only short queries or many cores reach thousands
+       =========================== */
+    static final class QueryService implements AutoCloseable {
+        static final int CHUNK = 16;
+
+        final Maze mz;
+        final SolverType type;
+        final Landmarks alt;            // ALT only, built once up front
+        final ForkJoinPool pool;
+        final ArrayBlockingQueue<Workspace> idle;
+        volatile boolean closed;
+
+        QueryService(Maze mz, SolverType type, ForkJoinPool pool) {
+            if (type != SolverType.BFS && type != SolverType.DIJKSTRA && type != SolverType.ASTAR && type != SolverType.ALT) {
+                throw new IllegalArgumentException("QueryService does not support " + type);
+            }
+            this.mz = mz;
+            this.type = type;
+            this.pool = pool;
+            alt = type == SolverType.ALT ? mz.landmarks() : null;
+            idle = new ArrayBlockingQueue<>(pool.getParallelism() + 1);
+        }
+
+        // One query on the calling thread; start/exit are flat cell ids.
+        SolveResult solve(int start, int exit) {
+            Workspace ws = acquire();
+            try {
+                return ws.run(this, start, exit);
+            } finally {
+                release(ws);
+            }
+        }
+
+        // results[i] answers (starts[i], exits[i])
+        SolveResult[] solveAll(int[] starts, int[] exits) {
+            SolveResult[] results = new SolveResult[starts.length];
+            List<Callable<Void>> jobs = new ArrayList<>();
+            for (int lo=0; lo<starts.length; lo+=CHUNK) {
+                int from = lo, to = Math.min(starts.length, lo + CHUNK);
+                jobs.add(() -> {
+                    Workspace ws = acquire();
+                    try {
+                        for (int i=from;i<to;i++) results[i] = ws.run(this, starts[i], exits[i]);
+                    } finally {
+                        release(ws);
                     }
+                    return null;
+                });
+            }
+            try {
+                for (Future<Void> f : pool.invokeAll(jobs)) f.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("queries interrupted", ex);
+            } catch (ExecutionException ex) {
+                throw new IllegalStateException("query failed", ex.getCause());
+            }
+            return results;
+        }
+
+        Workspace acquire() {
+            if (closed) throw new IllegalStateException("query service is closed");
+            Workspace ws = idle.poll();
+            return ws != null ? ws : new Workspace(mz.size * mz.size);
+        }
+
+        void release(Workspace ws) {
+            if (!closed) idle.offer(ws);
+        }
 
+        // Drops the idle workspaces; queries already running finish, new ones are refused.
+        @Override
+        public void close() {
+            closed = true;
+            idle.clear();
+        }
+
+        static final class Workspace {
+            final int[] seen;           // == stamp: dist/parent hold this query's values
+            final int[] dist, parent;
+            final IndexedMinHeap heap;
+            final IntList queue = new IntList(1024);    // BFS FIFO
+            int stamp;
+
+            Workspace(int n) {
+                seen = new int[n];
+                dist = new int[n];
+                parent = new int[n];
+                heap = new IndexedMinHeap(n);
+            }
+
+            void nextQuery() {
+                if (++stamp == 0) {             // wrapped: old stamps could match again
+                    Arrays.fill(seen, 0);
+                    stamp = 1;
+                }
+                heap.clear();
+                queue.clear();
+            }
+
+            SolveResult run(QueryService q, int start, int exit) {
+                nextQuery();
+                Maze mz = q.mz;
+                int size = mz.size, er = exit / size, ec = exit % size;
+                boolean bfs = q.type == SolverType.BFS, astar = q.type != SolverType.DIJKSTRA && !bfs;
+                SolveResult res = new SolveResult();
+                res.type = q.type;
+
+                seen[start] = stamp;
+                dist[start] = 0;
+                parent[start] = -1;
+                if (bfs) queue.add(start);
+                else heap.pushOrDecrease(start, 0);
+                int head = 0, steps = 0;
+                while (bfs ? head < queue.size : !heap.isEmpty()) {
+                    int cur = bfs ? queue.get(head++) : heap.pop();
+                    steps++;
+                    if (cur == exit) {
+                        res.found = true;
+                        break;
+                    }
+                    int r = cur / size, c = cur % size, g = dist[cur];
                     for (int[] d : Maze.DIRS4) {
                         int nr = r + d[0], nc = c + d[1];
                         if (!mz.inBounds(nr,nc)) continue;
-                        if (mz.state[nr][nc] == Maze.WALL) continue;
-
-                        double w = Maze.terrainWeight(mz.terrain[nr][nc]);
-                        double tentative = dist[r][c] + w;
-
-                        if (tentative + 1e-9 < dist[nr][nc]) {
-                            dist[nr][nc] = tentative;
-                            dparent[nr][nc] = new SimpleNode(r,c,0);
-                            double h = (type == SolverType.ASTAR) ? heuristic(nr,nc) : 0.0;
-                            pq.add(new PQNode(nr,nc, tentative, h));
+                        int nid = nr * size + nc;
+                        if (!mz.isOpen(nid)) continue;
+                        int tentative = g + (bfs ? 1 : mz.cost(nid));
+                        if (seen[nid] == stamp && tentative >= dist[nid]) continue;
+                        seen[nid] = stamp;
+                        dist[nid] = tentative;
+                        parent[nid] = cur;
+                        if (bfs) {
+                            queue.add(nid);
+                        } else {
+                            int h = 0;
+                            if (astar) {
+                                h = Math.abs(nr - er) + Math.abs(nc - ec);
+                                if (q.alt != null) h = Math.max(h, q.alt.bound(nid, exit));
+                            }
+                            heap.pushOrDecrease(nid, tentative + h);
                         }
                     }
-                    return false;
                 }
-                return true;
+
+                res.steps = steps;
+                if (!res.found) {
+                    res.path = new int[0];
+                    return res;
+                }
+                int n = 0;
+                for (int id = exit; id >= 0; id = parent[id]) n++;
+                res.path = new int[n];
+                int sum = 0;
+                for (int id = exit, i = n - 1; id >= 0; id = parent[id], i--) {
+                    res.path[i] = id;
+                    sum += mz.cost(id);
+                }
+                res.shortestPathSteps = n - 1;
+                res.totalWeight = sum;
+                return res;
+            }
+        }
+    }
+
+    /* Outcome of one solve; cell ids are r*size+c of the solved maze. */
+    static class SolveResult {
+        SolverType type;
+        boolean found;
+        int steps;                      // expanded cells
+        int shortestPathSteps;          // moves on the final path
+        double totalWeight;             // sum of terrain weights on the path (incl. start)
+        int[] path;                     // start..exit, empty when not found
+        int[] explored;                 // expansion order, null unless recorded
+    }
+
+    /* ===========================
+       Solve cache: finished SolveResults, least recently used evicted first
+       - keyed by Maze.fingerprint() (walls + terrain), size, start, exit and solver type, so
+         any change to the grid (openRandomWalls, createExtraWays, regeneration) changes the
+         key and old entries can no longer hit; they age out like any other entry
+       - bounded by an estimate of retained bytes (path and explored arrays), not entry count
+       - results are shared between callers and must not be modified
+       =========================== */
+    static final class SolveCache {
+        static final class Key {
+            final long fingerprint;
+            final int size, start, exit;
+            final SolverType type;
+
+            Key(Maze mz, SolverType type) {
+                fingerprint = mz.fingerprint();
+                size = mz.size;
+                start = mz.startR * mz.size + mz.startC;
+                exit = mz.exitR * mz.size + mz.exitC;
+                this.type = type;
+            }
+
+            @Override public boolean equals(Object o) {
+                if (!(o instanceof Key)) return false;
+                Key k = (Key) o;
+                return fingerprint == k.fingerprint && size == k.size && start == k.start && exit == k.exit && type == k.type;
+            }
+
+            @Override public int hashCode() {
+                return Long.hashCode(fingerprint) * 31 + ((start * 31 + exit) * 31 + size) * 31 + type.ordinal();
             }
         }
 
-        double reconstructPath(SimpleNode[][] parentArr, SimpleNode end) {
-            int r = end.r, c = end.c;
-            double sum = 0.0;
-            int cellCount = 0;
+        final long maxBytes;
+        final LinkedHashMap<Key, SolveResult> entries = new LinkedHashMap<>(16, 0.75f, true);
+        long bytes;
+        long hits, misses, evictions;
 
-            while (true) {
-                cellCount++;
-                if (mz.state[r][c] != Maze.START && mz.state[r][c] != Maze.EXIT) {
-                    mz.state[r][c] = Maze.SOLUTION;
+        SolveCache(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        // Cached result for the maze's current grid and endpoints, or null (counted as a miss).
+        synchronized SolveResult get(Maze mz, SolverType type) {
+            SolveResult r = entries.get(new Key(mz, type));
+            if (r == null) misses++;
+            else hits++;
+            return r;
+        }
+
+        synchronized void put(Maze mz, SolverType type, SolveResult res) {
+            long w = weight(res);
+            if (w > maxBytes) return;
+            SolveResult old = entries.put(new Key(mz, type), res);
+            if (old != null) bytes -= weight(old);
+            bytes += w;
+            Iterator<SolveResult> it = entries.values().iterator();
+            while (bytes > maxBytes) {
+                bytes -= weight(it.next());
+                it.remove();
+                evictions++;
+            }
+        }
+
+        // Headless solve through the cache.
+        SolveResult solve(Maze mz, SolverType type) {
+            SolveResult r = get(mz, type);
+            if (r == null) {
+                r = Solver.solve(mz, type);
+                put(mz, type, r);
+            }
+            return r;
+        }
+
+        static long weight(SolveResult r) {
+            return 64 + 4L * r.path.length + (r.explored == null ? 0 : 4L * r.explored.length);
+        }
+
+        synchronized int size() { return entries.size(); }
+
+        synchronized String stats() {
+            return String.format("%d entries, %d KB, %d hits, %d misses, %d evictions",
+                    entries.size(), bytes >> 10, hits, misses, evictions);
+        }
+    }
+
+    /* ===========================
+       Solve trace: expansion order + final path of one solve, compactly encoded
+       - order: zigzag varint of the delta to the previous expanded id (the first
+         delta is taken from 0); consecutive expansions are usually near each other,
+         so most entries take 1-3 bytes
+       - keyframes every KEYFRAME_EVERY entries hold the byte offset and the previous
+         id, so decoding can start anywhere without reading from the beginning
+       - file form: header, order bytes, path as start id + 2-bit moves (DIRS4 order);
+         keyframes are rebuilt on load, so they cost nothing on disk
+       =========================== */
+    static final class SolveTrace {
+        static final int MAGIC = 0x4A4D5452;   // "JMTR"
+        static final int VERSION = 1;
+        static final int KEYFRAME_EVERY = 4096;
+
+        final SolverType type;
+        final int size;                 // maze size the ids refer to
+        final boolean found;
+        final int totalWeight;
+        final int steps;                // number of expanded cells
+        final byte[] order;             // encoded expansion order
+        final int[] keyOffset;          // byte offset of entry k * KEYFRAME_EVERY
+        final int[] keyPrev;            // id before that entry (delta base)
+        final int[] path;               // start..exit, empty when not found
+
+        SolveTrace(SolverType type, int size, boolean found, int totalWeight, int steps, byte[] order, int[] path) {
+            this.type = type;
+            this.size = size;
+            this.found = found;
+            this.totalWeight = totalWeight;
+            this.steps = steps;
+            this.order = order;
+            this.path = path;
+            int k = (steps + KEYFRAME_EVERY - 1) / KEYFRAME_EVERY;
+            keyOffset = new int[k];
+            keyPrev = new int[k];
+            for (Cursor cur = new Cursor(); cur.hasNext(); cur.next()) {
+                if (cur.index % KEYFRAME_EVERY == 0) {
+                    keyOffset[cur.index / KEYFRAME_EVERY] = cur.off;
+                    keyPrev[cur.index / KEYFRAME_EVERY] = cur.prev;
                 }
-                sum += Maze.terrainWeight(mz.terrain[r][c]);
-                SimpleNode p = parentArr[r][c];
-                if (p == null) break;
-                r = p.r; c = p.c;
             }
+        }
 
-            shortestPathSteps = Math.max(0, cellCount - 1);
-            mz.state[mz.startR][mz.startC] = Maze.START;
-            mz.state[mz.exitR][mz.exitC] = Maze.EXIT;
-            return sum;
+        // Runs a headless solve with recording on and encodes it.
+        static SolveTrace record(Maze mz, SolverType type) {
+            return of(Solver.solve(mz, type, true), mz.size);
+        }
+
+        static SolveTrace of(SolveResult res, int size) {
+            int[] ids = res.explored;
+            byte[] buf = new byte[Math.max(16, ids.length * 2)];
+            int len = 0, prev = 0;
+            for (int id : ids) {
+                if (len + 5 > buf.length) buf = Arrays.copyOf(buf, buf.length * 2);
+                int d = id - prev;
+                int v = (d << 1) ^ (d >> 31);
+                while ((v & ~0x7F) != 0) {
+                    buf[len++] = (byte) (v & 0x7F | 0x80);
+                    v >>>= 7;
+                }
+                buf[len++] = (byte) v;
+                prev = id;
+            }
+            return new SolveTrace(res.type, size, res.found, (int) res.totalWeight, ids.length,
+                    Arrays.copyOf(buf, len), res.path);
+        }
+
+        // Sequential decoder starting at entry `index`.
+        Cursor cursor(int index) {
+            Cursor cur = new Cursor();
+            if (index >= steps) {
+                cur.index = steps;
+                return cur;
+            }
+            int k = index / KEYFRAME_EVERY;
+            cur.index = k * KEYFRAME_EVERY;
+            cur.off = keyOffset[k];
+            cur.prev = keyPrev[k];
+            while (cur.index < index) cur.next();
+            return cur;
+        }
+
+        final class Cursor {
+            int index, off, prev;
+
+            boolean hasNext() { return index < steps; }
+
+            int next() {
+                int v = 0, shift = 0, b;
+                do {
+                    b = order[off++];
+                    v |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                prev += (v >>> 1) ^ -(v & 1);
+                index++;
+                return prev;
+            }
+        }
+
+        // Bytes this trace takes on disk.
+        long encodedSize() {
+            return 4 + 1 + 1 + 4 + 1 + 4 + 4 + 4 + order.length + 4 + (path.length > 0 ? 4 + (2L * (path.length - 1) + 7) / 8 : 0);
+        }
+
+        void write(OutputStream os) throws IOException {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os));
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeByte(type.ordinal());
+            out.writeInt(size);
+            out.writeBoolean(found);
+            out.writeInt(totalWeight);
+            out.writeInt(steps);
+            out.writeInt(order.length);
+            out.write(order);
+            out.writeInt(path.length);
+            if (path.length > 0) {
+                out.writeInt(path[0]);
+                int acc = 0, bits = 0;
+                for (int i=1;i<path.length;i++) {
+                    acc |= move(path[i] - path[i-1]) << bits;
+                    bits += 2;
+                    if (bits == 8) { out.writeByte(acc); acc = 0; bits = 0; }
+                }
+                if (bits > 0) out.writeByte(acc);
+            }
+            out.flush();
+        }
+
+        static SolveTrace read(InputStream is) throws IOException {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(is));
+            if (in.readInt() != MAGIC) throw new IOException("not a solve trace");
+            int version = in.readUnsignedByte();
+            if (version != VERSION) throw new IOException("unsupported trace version " + version);
+            int t = in.readUnsignedByte();
+            if (t >= SolverType.values().length) throw new IOException("unknown solver type " + t);
+            SolverType type = SolverType.values()[t];
+            int size = in.readInt();
+            boolean found = in.readBoolean();
+            int totalWeight = in.readInt();
+            int steps = in.readInt();
+            byte[] order = new byte[in.readInt()];
+            in.readFully(order);
+            int[] path = new int[in.readInt()];
+            if (path.length > 0) {
+                int[] delta = {-size, size, -1, 1};   // Maze.DIRS4 as flat id offsets
+                path[0] = in.readInt();
+                int acc = 0;
+                for (int i=1;i<path.length;i++) {
+                    if ((i - 1) % 4 == 0) acc = in.readUnsignedByte();
+                    path[i] = path[i-1] + delta[(acc >>> 2 * ((i - 1) % 4)) & 3];
+                }
+            }
+            return new SolveTrace(type, size, found, totalWeight, steps, order, path);
+        }
+
+        // 2-bit code of a single step, same order as Maze.DIRS4 (up, down, left, right)
+        int move(int delta) {
+            if (delta == -size) return 0;
+            if (delta == size) return 1;
+            if (delta == -1) return 2;
+            if (delta == 1) return 3;
+            throw new IllegalStateException("path cells are not adjacent");
+        }
+    }
+
+    /* ===========================
+       Trace replay: drives an Overlay (and so MazePanel) from a SolveTrace
+       - position p shows the first p expanded cells as EXPLORED; at p == steps the
+         path is shown as SOLUTION too, like a finished live solve
+       - forward seeks continue the current decoder, backward seeks decode only the
+         entries being undone, starting from the nearest keyframe
+       - backward seeks keep a cell EXPLORED only if its first expansion comes before the
+         new position: path cells need not be expanded at all (CORRIDOR*, BIDI_* stop
+         short of them) and DELTA_STEPPING expands some cells more than once
+       - changed cells collect in `dirty` for MazePanel.repaintCells()
+       =========================== */
+    static final class TraceReplay {
+        final Maze mz;
+        final SolveTrace trace;
+        final IntList dirty = new IntList(64);
+        final Overlay overlay;
+        int pos = 0;
+        boolean pathShown = false;
+        SolveTrace.Cursor fwd;
+        int[] firstSeen;                // entry index of each id's first expansion, see firstSeen()
+
+        // Publishes an empty overlay on the maze; replay starts before the first expansion.
+        TraceReplay(Maze mz, SolveTrace trace) {
+            if (mz.size != trace.size) {
+                throw new IllegalArgumentException("trace is for a " + trace.size + " maze, not " + mz.size);
+            }
+            this.mz = mz;
+            this.trace = trace;
+            overlay = new Overlay(mz.size * mz.size);
+            publish();
+            fwd = trace.cursor(0);
+        }
+
+        // Shows the marks as of now; call after seeking, before repainting `dirty`.
+        void publish() { mz.publish(overlay.snapshot()); }
+
+        int length() { return trace.steps; }
+        boolean atEnd() { return pos == trace.steps; }
+
+        // Moves at most n entries forward; returns true once the end is reached.
+        boolean advance(int n) {
+            seek((int) Math.min(trace.steps, (long) pos + n));
+            return atEnd();
+        }
+
+        void seek(int target) {
+            target = Math.max(0, Math.min(trace.steps, target));
+            if (target < pos) {
+                int[] first = firstSeen();
+                if (pathShown) {
+                    for (int id : trace.path) mark(id, first[id] < target ? Maze.EXPLORED : Maze.PATH);
+                    pathShown = false;
+                }
+                SolveTrace.Cursor back = trace.cursor(target);
+                while (back.index < pos) {
+                    int id = back.next();
+                    if (first[id] >= target) mark(id, Maze.PATH);
+                }
+                pos = target;
+            } else {
+                if (fwd.index != pos) fwd = trace.cursor(pos);
+                while (fwd.index < target) mark(fwd.next(), Maze.EXPLORED);
+                pos = target;
+            }
+            if (atEnd() && trace.found && !pathShown) {
+                for (int id : trace.path) mark(id, Maze.SOLUTION);
+                pathShown = true;
+            }
+        }
+
+        // Decoded once, on the first backward seek; Integer.MAX_VALUE = never expanded.
+        int[] firstSeen() {
+            if (firstSeen == null) {
+                int[] f = new int[mz.size * mz.size];
+                Arrays.fill(f, Integer.MAX_VALUE);
+                for (SolveTrace.Cursor cur = trace.cursor(0); cur.hasNext(); ) {
+                    int i = cur.index, id = cur.next();
+                    if (f[id] > i) f[id] = i;
+                }
+                firstSeen = f;
+            }
+            return firstSeen;
+        }
+
+        void mark(int id, int st) {
+            int cur = mz.state(id);
+            if (cur == Maze.START || cur == Maze.EXIT) return;
+            overlay.set(id, st);            // PATH == 0 clears the mark
+            dirty.add(id);
+        }
+    }
+
+    /* ===========================
+       Overlay: the EXPLORED/SOLUTION marks of one solve, kept off the Maze
+       - one byte per cell id: 0 (none), Maze.EXPLORED or Maze.SOLUTION
+       - a working overlay is written by a single owner (a marking Solver or a TraceReplay)
+         and never shown directly: the owner publishes snapshot() copies on the maze, one
+         per frame, and MazePanel reads whichever snapshot is published. A snapshot is
+         never written again, so a paint never sees a half-applied step
+       - the grid itself stays read-only while solving; clearing marks is just dropping
+         the reference
+       - a snapshot copies size*size bytes (16 MB at 4001), cheap next to a frame; snapshots
+         count up per owner so the panel can patch only the cells changed between two
+       =========================== */
+    static final class Overlay {
+        final byte[] marks;
+        final Overlay owner;            // working overlay this snapshot was taken of (itself if working)
+        final int frame;                // 0 for a working overlay, then 1, 2, ... per snapshot
+        int snapshots;                  // working overlay only: snapshots taken so far
+
+        Overlay(int cells) {
+            marks = new byte[cells];
+            owner = this;
+            frame = 0;
+        }
+
+        private Overlay(byte[] marks, Overlay owner, int frame) {
+            this.marks = marks;
+            this.owner = owner;
+            this.frame = frame;
+        }
+
+        int mark(int id) { return marks[id]; }
+        void set(int id, int mark) { marks[id] = (byte) mark; }
+
+        Overlay snapshot() { return new Overlay(marks.clone(), owner, ++owner.snapshots); }
+
+        // `next` is the snapshot taken right after this one, so the two differ only in the
+        // cells the owner changed in between
+        boolean precedes(Overlay next) {
+            return next != null && next.owner == owner && next.frame == frame + 1;
+        }
+    }
+
+    /* Growable int array, used where a List<Integer> would box every cell id. */
+    static final class IntList {
+        int[] a;
+        int size;
+
+        IntList(int capacity) { a = new int[Math.max(4, capacity)]; }
+
+        void add(int v) {
+            if (size == a.length) a = Arrays.copyOf(a, size * 2);
+            a[size++] = v;
+        }
+
+        int get(int i) { return a[i]; }
+
+        // O(1) unordered removal: the last element fills the hole
+        int swapRemove(int i) {
+            int v = a[i];
+            a[i] = a[--size];
+            return v;
+        }
+
+        void clear() { size = 0; }
+        int[] toArray() { return Arrays.copyOf(a, size); }
+    }
+
+    /* ===========================
+       Lazily built value tied to a maze layout
+       - get() builds it on first use and again whenever Maze.layoutVersion has moved on
+       - get() is synchronized: the build runs once, and a value built on one thread is
+         fully visible to solvers on every other (edits never overlap with solving)
+       - the Maze's derived grids and graphs (bordered, openBits, corridor graph,
+         landmarks) each sit in one of these
+       =========================== */
+    static final class LayoutCache<T> {
+        private final Maze mz;
+        private final Function<Maze, T> build;
+        private T value;
+        private int layout;
+
+        LayoutCache(Maze mz, Function<Maze, T> build) {
+            this.mz = mz;
+            this.build = build;
+        }
+
+        synchronized T get() {
+            if (value == null || layout != mz.layoutVersion) {
+                value = build.apply(mz);
+                layout = mz.layoutVersion;
+            }
+            return value;
+        }
+    }
+
+    /* ===========================
+       Bucket queue for Dial's algorithm (monotone integer keys)
+       - circular array of `span` buckets, key k lives in bucket k % span
+       - valid while every queued key is within [cur, cur + span - 1]
+       - each bucket is a growable int stack: O(1) push, O(1) amortized pop
+       =========================== */
+    static final class BucketQueue {
+        final int[][] stacks;
+        final int[] counts;
+        final int span;
+        int cur = -1;       // smallest key that can still be queued, -1 until first push
+        int size;
+        int lastKey;        // key of the id returned by the last pop()
+
+        BucketQueue(int span) {
+            this.span = span;
+            stacks = new int[span][16];
+            counts = new int[span];
+        }
+
+        boolean isEmpty() { return size == 0; }
+
+        void push(int id, int key) {
+            if (cur < 0) cur = key; // anchor on the first key (A* starts at h(start), not 0)
+            int b = key % span;
+            int n = counts[b];
+            if (n == stacks[b].length) stacks[b] = Arrays.copyOf(stacks[b], n * 2);
+            stacks[b][n] = id;
+            counts[b] = n + 1;
+            size++;
+        }
+
+        int pop() {
+            int b = cur % span;
+            while (counts[b] == 0) {
+                cur++;
+                b = cur % span;
+            }
+            size--;
+            lastKey = cur;
+            return stacks[b][--counts[b]];
+        }
+
+        void clear() {
+            Arrays.fill(counts, 0);
+            size = 0;
+            cur = -1;
+        }
+    }
+
+    /* ===========================
+       Indexed 4-ary min-heap keyed by flat cell id (r*size+c)
+       - pos[] maps id -> heap slot, so decrease-key is in place (no duplicates)
+       - ids/keys are parallel int arrays, grown on demand; no per-push allocation
+       - equal keys pop in heap order. That is deterministic but not the order of the
+         PriorityQueue (with duplicate entries) the solvers used before, so where several
+         paths share the lowest weight Dijkstra/A* may return another of them and expand
+         a different number of cells; SolverTest.heapTieBreakingIsPinned fixes the order
+       =========================== */
+    static final class IndexedMinHeap {
+        int[] ids;          // heap slot -> cell id
+        int[] keys;         // heap slot -> priority
+        final int[] pos;    // cell id -> heap slot, -1 if not queued
+        int size;
+
+        IndexedMinHeap(int capacity) {
+            pos = new int[capacity];
+            Arrays.fill(pos, -1);
+            int init = Math.max(16, Math.min(capacity, 1024));
+            ids = new int[init];
+            keys = new int[init];
+        }
+
+        boolean isEmpty() { return size == 0; }
+        boolean contains(int id) { return pos[id] >= 0; }
+        int peekKey() { return keys[0]; }
+
+        // insert id, or lower its key if it is already queued with a larger one
+        void pushOrDecrease(int id, int key) {
+            int i = pos[id];
+            if (i < 0) {
+                if (size == ids.length) {
+                    ids = Arrays.copyOf(ids, size * 2);
+                    keys = Arrays.copyOf(keys, size * 2);
+                }
+                i = size++;
+            } else if (key >= keys[i]) {
+                return;
+            }
+            siftUp(i, id, key);
+        }
+
+        int pop() {
+            int top = ids[0];
+            pos[top] = -1;
+            int last = --size;
+            if (last > 0) siftDown(0, ids[last], keys[last]);
+            return top;
+        }
+
+        // reset for reuse; only touches the slots still queued
+        void clear() {
+            for (int i=0;i<size;i++) pos[ids[i]] = -1;
+            size = 0;
+        }
+
+        void siftUp(int i, int id, int key) {
+            while (i > 0) {
+                int p = (i - 1) >>> 2;
+                if (keys[p] <= key) break;
+                ids[i] = ids[p]; keys[i] = keys[p]; pos[ids[i]] = i;
+                i = p;
+            }
+            ids[i] = id; keys[i] = key; pos[id] = i;
+        }
+
+        void siftDown(int i, int id, int key) {
+            int n = size;
+            while (true) {
+                int first = (i << 2) + 1;
+                if (first >= n) break;
+                int best = first, bestKey = keys[first];
+                int end = Math.min(first + 4, n);
+                for (int j = first + 1; j < end; j++) {
+                    if (keys[j] < bestKey) { best = j; bestKey = keys[j]; }
+                }
+                if (bestKey >= key) break;
+                ids[i] = ids[best]; keys[i] = bestKey; pos[ids[i]] = i;
+                i = best;
+            }
+            ids[i] = id; keys[i] = key; pos[id] = i;
         }
     }
 }